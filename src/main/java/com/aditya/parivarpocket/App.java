@@ -23,6 +23,8 @@ public class App extends Application {
         String css = App.class.getResource("/styles.css").toExternalForm();
         scene.getStylesheets().add(css);
 
+        repository.attachOfflineJournal(offlineSyncService);
+
         stage.setTitle("ParivaarPocket • JavaFX");
         stage.setScene(scene);
         stage.show();
@@ -34,15 +36,26 @@ public class App extends Application {
         root.getChildren().setAll(loginView.getView());
     }
 
+    private void onLogout() {
+        repository.flushPendingWritesAsync();
+        showLogin();
+    }
+
     private void onLogin(User user) {
         MainLayout layout = new MainLayout(
                 user,
                 repository,
                 offlineSyncService,
-                this::showLogin);
+                this::onLogout);
         root.getChildren().setAll(layout.getView());
     }
 
+    @Override
+    public void stop() {
+        repository.flushPendingWrites();
+        offlineSyncService.close();
+    }
+
     public static void main(String[] args) {
         launch(args);
     }
@@ -0,0 +1,126 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+
+/**
+ * Writes a large set of rows as several bounded upserts instead of one giant POST.
+ *
+ * <p>Rows are serialized once and packed into chunks of at most {@code maxChunkBytes} and
+ * {@code maxChunkRows}. The chunks are spread over {@code lanes} sequential chains that run side by
+ * side, so a few requests are in flight at once without flooding PostgREST. Every request is an
+ * {@code on_conflict} upsert, which makes a retry of a failed chunk harmless.
+ */
+final class BulkUpsert {
+    private static final int RETRIES = 1;
+
+    private final SupabaseClient client;
+    private final Gson gson = new Gson();
+    private final int maxChunkBytes;
+    private final int maxChunkRows;
+    private final int lanes;
+
+    BulkUpsert(SupabaseClient client, int maxChunkBytes, int maxChunkRows, int lanes) {
+        this.client = client;
+        this.maxChunkBytes = maxChunkBytes;
+        this.maxChunkRows = maxChunkRows;
+        this.lanes = lanes;
+    }
+
+    /**
+     * Upserts {@code items} into {@code table} and blocks until every chunk has finished.
+     *
+     * @return the items whose chunk was written, in input order; failed chunks are logged and left out
+     */
+    <T> List<T> upsert(String table, String onConflict, List<T> items, Function<T, JsonObject> toRow,
+                       String bearerToken, Duration timeout) {
+        List<Chunk<T>> chunks = pack(items, toRow);
+        List<CompletableFuture<Void>> chains = new ArrayList<>();
+        for (int lane = 0; lane < Math.min(lanes, chunks.size()); lane++) {
+            CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+            for (int i = lane; i < chunks.size(); i += lanes) {
+                Chunk<T> chunk = chunks.get(i);
+                chain = chain.thenCompose(ignored -> send(table, onConflict, chunk, bearerToken, timeout, RETRIES));
+            }
+            chains.add(chain);
+        }
+        CompletableFuture.allOf(chains.toArray(new CompletableFuture<?>[0])).join();
+
+        List<T> written = new ArrayList<>(items.size());
+        int failedRows = 0;
+        for (Chunk<T> chunk : chunks) {
+            if (chunk.written) {
+                written.addAll(chunk.items);
+            } else {
+                failedRows += chunk.items.size();
+            }
+        }
+        System.out.println("[BulkUpsert] " + table + ": " + written.size() + " rows in " + chunks.size() + " chunks"
+                + (failedRows > 0 ? ", " + failedRows + " rows failed" : ""));
+        return written;
+    }
+
+    private <T> CompletableFuture<Void> send(String table, String onConflict, Chunk<T> chunk,
+                                             String bearerToken, Duration timeout, int retriesLeft) {
+        return client.upsertRowsAsync(table, onConflict, chunk.json(), bearerToken, timeout)
+                .handle((ignored, error) -> {
+                    if (error == null) {
+                        chunk.written = true;
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    if (retriesLeft > 0) {
+                        return send(table, onConflict, chunk, bearerToken, timeout, retriesLeft - 1);
+                    }
+                    System.err.println("[BulkUpsert] " + table + " chunk of " + chunk.items.size()
+                            + " rows failed: " + error.getMessage());
+                    return CompletableFuture.<Void>completedFuture(null);
+                })
+                .thenCompose(next -> next);
+    }
+
+    private <T> List<Chunk<T>> pack(List<T> items, Function<T, JsonObject> toRow) {
+        List<Chunk<T>> chunks = new ArrayList<>();
+        Chunk<T> current = new Chunk<>();
+        for (T item : items) {
+            String row = gson.toJson(toRow.apply(item));
+            int rowBytes = row.getBytes(StandardCharsets.UTF_8).length + 1;
+            if (!current.items.isEmpty()
+                    && (current.bytes + rowBytes > maxChunkBytes || current.items.size() >= maxChunkRows)) {
+                chunks.add(current);
+                current = new Chunk<>();
+            }
+            current.add(item, row, rowBytes);
+        }
+        if (!current.items.isEmpty()) {
+            chunks.add(current);
+        }
+        return chunks;
+    }
+
+    private static final class Chunk<T> {
+        private final List<T> items = new ArrayList<>();
+        private final StringBuilder rows = new StringBuilder("[");
+        private int bytes = 2;
+        private volatile boolean written;
+
+        private void add(T item, String row, int rowBytes) {
+            if (!items.isEmpty()) {
+                rows.append(',');
+            }
+            rows.append(row);
+            items.add(item);
+            bytes += rowBytes;
+        }
+
+        private String json() {
+            return rows + "]";
+        }
+    }
+}
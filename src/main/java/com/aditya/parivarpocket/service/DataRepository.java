@@ -8,73 +8,242 @@ import com.google.gson.JsonObject;
 
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class DataRepository {
+    private static final int PREFETCH_THREADS = 6;
+    private static final Duration BACKGROUND_WRITE_TIMEOUT = Duration.ofSeconds(15);
+    private static final int BULK_FILTER_CHUNK = 50;
+    private static final int TABLE_PAGE_SIZE = 500;
+    private static final Duration DELTA_RECONCILE_INTERVAL = Duration.ofMinutes(15);
+    private static final Duration ANALYTICS_WRITE_WINDOW = Duration.ofSeconds(2);
+    private static final int ANALYTICS_WRITE_MAX_ROWS = 25;
+    // Per-user reads are served from memory for READ_TTL, then stale while refreshing for READ_STALE_WINDOW
+    private static final Duration READ_TTL = Duration.ofSeconds(30);
+    private static final Duration READ_STALE_WINDOW = Duration.ofMinutes(5);
+    private static final int PROGRESS_CACHE_ENTRIES = 500;
+    private static final int ROW_CACHE_WEIGHT = 5_000;
+    private static final int UPSERT_CHUNK_BYTES = 256 * 1024;
+    private static final int UPSERT_CHUNK_ROWS = 200;
+    private static final int UPSERT_LANES = 4;
+
+    // Column projections: each list holds exactly the columns its toXxx mapper reads
+    private static final List<String> ID_COLUMNS = List.of("id");
+    private static final List<String> LESSON_LIST_COLUMNS = List.of(
+            "id", "title", "difficulty", "progress_percent", "quizzes_completed", "quizzes_total");
+    private static final List<String> QUIZ_RESULT_COLUMNS = List.of("title", "score", "difficulty", "coins_awarded");
+    private static final List<String> QUIZ_COLUMNS = List.of(
+            "id", "lesson_id", "title", "difficulty", "passing_marks", "total_marks");
+    private static final List<String> QUIZ_QUESTION_COLUMNS = List.of(
+            "id", "quiz_id", "question", "options", "correct_option", "points");
+    private static final List<String> JOB_LIST_COLUMNS = List.of(
+            "id", "title", "company_name", "location", "locality", "job_link", "pub_date_ts_milli",
+            "formatted_relative_time", "salary_min", "salary_max", "salary_type", "category",
+            "required_skills", "working_hours");
+    private static final List<String> NOTIFICATION_COLUMNS = List.of("title", "description", "severity", "notify_date");
+    private static final List<String> STUDENT_PROGRESS_COLUMNS = List.of(
+            "student_name", "user_email", "modules_completed", "total_modules", "quizzes_taken", "average_score",
+            "wallet_health_score", "parivaar_points", "employment_applications", "job_saves", "wallet_savings", "alerts");
+    private static final List<String> PROFILE_COLUMNS = List.of("id", "email", "role", "created_at");
+    private static final List<String> BUDGET_GOAL_COLUMNS = List.of(
+            "id", "user_email", "current_budget", "target_savings", "updated_at");
+    private static final List<String> WALLET_ENTRY_COLUMNS = List.of("entry_type", "category", "amount", "note", "entry_date");
+    private static final List<String> LESSON_COMPLETION_COLUMNS = List.of(
+            "id", "lesson_id", "user_email", "quiz_attempt_id", "completed_at");
+    private static final List<String> QUIZ_ATTEMPT_COLUMNS = List.of(
+            "id", "quiz_id", "user_email", "score", "max_score", "passed", "responses", "created_at");
+    private static final List<String> ACTIVITY_LOG_COLUMNS = List.of("id", "activity_type", "activity_data", "created_at");
+    private static final List<String> ALERT_COLUMNS = List.of(
+            "id", "user_email", "category", "severity", "message", "metadata", "created_at", "read");
+
+    private final ExecutorService prefetchExecutor = Executors.newFixedThreadPool(PREFETCH_THREADS, runnable -> {
+        Thread thread = new Thread(runnable, "prefetch-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
     private final LocalStoreService storeService;
     private final Map<String, List<WalletEntry>> walletEntries = new HashMap<>();
     private final SupabaseClient supabaseClient = new SupabaseClient();
+    private final DeltaSyncEngine deltaSync = new DeltaSyncEngine(supabaseClient, DELTA_RECONCILE_INTERVAL);
+    private final BulkUpsert bulkUpsert = new BulkUpsert(supabaseClient, UPSERT_CHUNK_BYTES, UPSERT_CHUNK_ROWS, UPSERT_LANES);
+    private final WriteBehindBuffer analyticsWrites =
+            new WriteBehindBuffer(supabaseClient, ANALYTICS_WRITE_WINDOW, ANALYTICS_WRITE_MAX_ROWS);
+    private final ReadCache<String, StudentProgress> progressReads = new ReadCache<>("student_progress",
+            READ_TTL, READ_STALE_WINDOW, PROGRESS_CACHE_ENTRIES, progress -> 1, prefetchExecutor);
+    private final ReadCache<String, List<Alert>> alertReads = new ReadCache<>("alerts",
+            READ_TTL, READ_STALE_WINDOW, ROW_CACHE_WEIGHT, DataRepository::rowWeight, prefetchExecutor);
+    private final ReadCache<String, List<JobApplication>> applicationReads = new ReadCache<>("job_applications",
+            READ_TTL, READ_STALE_WINDOW, ROW_CACHE_WEIGHT, DataRepository::rowWeight, prefetchExecutor);
+    private final ReadCache<String, List<WalletEntry>> walletReads = new ReadCache<>("wallet_entries",
+            READ_TTL, READ_STALE_WINDOW, ROW_CACHE_WEIGHT, DataRepository::rowWeight, prefetchExecutor);
     private volatile List<Lesson> lessonsCache;
     private volatile List<QuizResult> quizCache;
     private volatile List<QuizDefinition> quizDefinitionCache;
     private volatile List<QuizQuestion> quizQuestionCache;
-    private volatile List<QuizAttempt> quizAttemptCache;
-    private volatile List<LessonCompletion> lessonCompletionCache;
+    private final SnapshotStore<String, QuizAttempt> quizAttemptCache = new SnapshotStore<>(DataRepository::attemptKey);
+    private final SnapshotStore<String, LessonCompletion> lessonCompletionCache =
+            new SnapshotStore<>(DataRepository::completionKey);
+    // Secondary indexes over the caches above, so views can look up per lesson or quiz in O(1)
+    private final GroupedIndex<String, QuizDefinition> quizzesByLesson = new GroupedIndex<>(QuizDefinition::getLessonId);
+    private final GroupedIndex<String, QuizQuestion> questionsByQuiz = new GroupedIndex<>(QuizQuestion::getQuizId);
+    private final GroupedIndex<String, LessonCompletion> completionsByLesson =
+            new GroupedIndex<>(LessonCompletion::getLessonId);
     private volatile List<JobOpportunity> jobCache;
     private volatile List<NotificationItem> notificationsCache;
-    private volatile List<StudentProgress> studentProgressCache;
+    private final SnapshotStore<String, StudentProgress> studentProgressCache = new SnapshotStore<>(DataRepository::progressKey);
     private volatile List<WalletEntry> walletCache;
     private volatile List<StudentProfile> profileCache;
-    private volatile Map<String, BudgetGoal> budgetGoalCache = Map.of();
-    private volatile List<String> favoriteIdsCache = List.of();
-    private volatile List<JobOpportunity> favoriteJobsCache = List.of();
+    private final SnapshotStore<String, BudgetGoal> budgetGoalCache =
+            new SnapshotStore<>(goal -> goal.getUserEmail() != null ? goal.getUserEmail().toLowerCase(Locale.ROOT) : null);
+    private final SnapshotStore<String, String> favoriteIdsCache = new SnapshotStore<>(Function.identity());
+    private final SnapshotStore<String, JobOpportunity> favoriteJobsCache = new SnapshotStore<>(JobOpportunity::getId);
+    private final SnapshotStore<String, String> readAlertIdsCache = new SnapshotStore<>(Function.identity());
     private final Set<String> rewardedQuestionsCache = Collections.synchronizedSet(new HashSet<>());
-    private User currentUser;
+    private volatile Map<String, Long> prefetchTimings = Map.of();
+    private final Object prefetchLock = new Object();
+    private final AtomicLong prefetchRuns = new AtomicLong();
+    private volatile boolean progressSummaryAvailable = true;
+    private final Map<String, Lesson> lessonDetailCache = new ConcurrentHashMap<>();
+    private final Map<String, JobOpportunity> jobDetailCache = new ConcurrentHashMap<>();
+    private final Object jobCacheLock = new Object();
+    private final JobSearchIndex jobSearchIndex = new JobSearchIndex();
+    private volatile User currentUser;
+    private OfflineSyncService offlineJournal;
 
     public DataRepository(LocalStoreService storeService) {
         this.storeService = storeService;
     }
 
-    public synchronized void prefetchAll(User user) {
-        this.currentUser = user;
-        walletEntries.clear();
-        lessonsCache = mapTable("lessons", null, this::toLesson);
-        quizCache = mapTable("quiz_results", null, this::toQuizResult);
-        quizDefinitionCache = mapTable("quizzes", null, this::toQuizDefinition);
-        quizQuestionCache = mapTable("quiz_questions", null, this::toQuizQuestion);
-        jobCache = mapTable("jobs", null, this::toJobOpportunity);
-        notificationsCache = mapTable("notifications", null, this::toNotification);
-        studentProgressCache = mapTable("student_progress", null, this::toStudentProgress);
-        profileCache = mapTable("profiles", null, this::toStudentProfile);
-        walletCache = fetchWalletFromSupabase(user);
-        lessonCompletionCache = user != null ? fetchLessonCompletions(user) : List.of();
-        quizAttemptCache = user != null ? fetchQuizAttempts(user) : List.of();
-        
-        // Eagerly pre-fetch favorites for instant tab transitions
+    /**
+     * Routes user writes through {@code journal}: they are queued durably whenever Supabase cannot be
+     * reached and replayed in order once it can.
+     */
+    public void attachOfflineJournal(OfflineSyncService journal) {
+        this.offlineJournal = journal;
+        journal.bind(supabaseClient, this::getSafeToken);
+        analyticsWrites.setJournal(journal);
+    }
+
+    /**
+     * Writes any buffered activity-log and alert rows now. Call before the session ends.
+     */
+    public void flushPendingWrites() {
+        analyticsWrites.flush();
+    }
+
+    public CompletableFuture<Void> flushPendingWritesAsync() {
+        return analyticsWrites.flushAsync();
+    }
+
+    /**
+     * Write-behind buffer depth and flush latency for activity logs and alerts.
+     */
+    public Map<String, Long> getWriteBehindStats() {
+        return analyticsWrites.getStats();
+    }
+
+    /**
+     * Hit, miss and eviction counters for the per-user read caches, keyed by cache name.
+     */
+    public Map<String, Map<String, Long>> getReadCacheStats() {
+        Map<String, Map<String, Long>> stats = new LinkedHashMap<>();
+        stats.put("student_progress", progressReads.getStats());
+        stats.put("alerts", alertReads.getStats());
+        stats.put("job_applications", applicationReads.getStats());
+        stats.put("wallet_entries", walletReads.getStats());
+        return stats;
+    }
+
+    /**
+     * Starts loading every table the signed-in screens read. Caches fill in as each table arrives;
+     * the returned future completes once all of them have been tried, and never completes
+     * exceptionally. A newer call supersedes an older one still running.
+     */
+    public CompletableFuture<Void> prefetchAll(User user) {
+        PrefetchPipeline pipeline;
+        synchronized (prefetchLock) {
+            if (currentUser == null || user == null || !keyForUser(currentUser).equals(keyForUser(user))) {
+                deltaSync.reset();
+            }
+            this.currentUser = user;
+            walletEntries.clear();
+            invalidateReadCaches();
+            readAlertIdsCache.clear();
+            progressSummaryAvailable = true;
+            lessonDetailCache.clear();
+            jobDetailCache.clear();
+            long run = prefetchRuns.incrementAndGet();
+            pipeline = new PrefetchPipeline(prefetchExecutor, () -> prefetchRuns.get() == run);
+        }
+        pipeline.fetch("lessons", () -> mapReferenceTable("lessons", LESSON_LIST_COLUMNS, ModelAdapters.LESSON), rows -> lessonsCache = rows);
+        pipeline.fetch("quiz_results", () -> mapTable("quiz_results", QUIZ_RESULT_COLUMNS, null, ModelAdapters.QUIZ_RESULT), rows -> quizCache = rows);
+        pipeline.fetch("quizzes", () -> mapReferenceTable("quizzes", QUIZ_COLUMNS, ModelAdapters.QUIZ_DEFINITION), this::loadQuizDefinitions);
+        pipeline.fetch("quiz_questions", () -> mapReferenceTable("quiz_questions", QUIZ_QUESTION_COLUMNS, ModelAdapters.QUIZ_QUESTION), this::loadQuizQuestions);
+        pipeline.fetch("jobs", () -> mapTablePaged("jobs", JOB_LIST_COLUMNS, this::toJobOpportunity), this::loadJobs);
+        pipeline.fetch("notifications", () -> mapReferenceTable("notifications", NOTIFICATION_COLUMNS, ModelAdapters.NOTIFICATION), rows -> {
+            if (rows.isEmpty()) {
+                rows = List.of(new NotificationItem(
+                        "Welcome",
+                        "We are syncing notifications from Supabase—nothing new yet.",
+                        "info",
+                        LocalDate.now()));
+            }
+            notificationsCache = rows;
+        });
+        pipeline.fetch("student_progress", () -> mapTablePaged("student_progress", STUDENT_PROGRESS_COLUMNS, this::toStudentProgress), studentProgressCache::load);
+        pipeline.fetch("profiles", () -> mapTablePaged("profiles", PROFILE_COLUMNS, this::toStudentProfile), rows -> profileCache = rows);
+        pipeline.fetch("wallet_entries", () -> fetchWalletFromSupabase(user), rows -> walletCache = rows);
+        pipeline.fetch("budget_goals", () -> mapTablePaged("budget_goals", BUDGET_GOAL_COLUMNS, this::toBudgetGoal),
+                budgetGoalCache::load);
         if (user != null) {
-            this.favoriteIdsCache = fetchFavoriteJobIdsFromSupabase(user);
-            this.favoriteJobsCache = fetchFavoriteJobsFromSupabase(user);
-            fetchQuizRewardsFromSupabase(user);
+            pipeline.fetch("lesson_completions", () -> fetchLessonCompletions(user), this::loadLessonCompletions);
+            pipeline.fetch("quiz_attempts", () -> fetchQuizAttempts(user), quizAttemptCache::load);
+            pipeline.fetch("quiz_rewards", () -> {
+                fetchQuizRewardsFromSupabase(user);
+                return null;
+            }, null);
+
+            // Eagerly pre-fetch favorites for instant tab transitions; job details need the IDs first
+            CompletableFuture<List<String>> favoriteIds = pipeline.fetch("job_favorites",
+                    () -> fetchFavoriteJobIdsFromSupabase(user), favoriteIdsCache::load);
+            pipeline.fetchAfter(favoriteIds, "favorite_jobs",
+                    this::fetchFavoriteJobsFromSupabase, favoriteJobsCache::load);
+        } else {
+            loadLessonCompletions(List.of());
+            quizAttemptCache.load(List.of());
         }
+        return pipeline.whenAll().thenRun(() -> {
+            prefetchTimings = Map.copyOf(pipeline.getTimings());
+            System.out.println("[DataRepository] Prefetch timings (ms): " + prefetchTimings);
+            System.out.println("[DataRepository] Transfer wire/decoded bytes: " + supabaseClient.getTransferStats());
+            System.out.println("[DataRepository] Write-behind: " + analyticsWrites.getStats());
+            System.out.println("[DataRepository] Read caches: " + getReadCacheStats());
+        });
+    }
 
-        if (notificationsCache.isEmpty()) {
-            notificationsCache = List.of(new NotificationItem(
-                    "Welcome",
-                    "We are syncing notifications from Supabase—nothing new yet.",
-                    "info",
-                    LocalDate.now()));
-        }
-        List<BudgetGoal> goals = mapTable("budget_goals", null, this::toBudgetGoal);
-        budgetGoalCache = goals.stream()
-                .collect(Collectors.toMap(goal -> goal.getUserEmail().toLowerCase(Locale.ROOT),
-                        Function.identity(),
-                        (first, second) -> second));
+    /**
+     * Per-table wall-clock durations, in milliseconds, from the most recent {@link #prefetchAll(User)}.
+     */
+    public Map<String, Long> getPrefetchTimings() {
+        return prefetchTimings;
+    }
+
+    /**
+     * Compressed versus decompressed response bytes per table, accumulated since startup.
+     */
+    public Map<String, SupabaseClient.TransferStats> getTransferStats() {
+        return supabaseClient.getTransferStats();
     }
 
     public User getCurrentUser() {
@@ -85,29 +254,88 @@ public class DataRepository {
         if (lessonsCache != null) {
             return lessonsCache;
         }
-        return mapTable("lessons", null, this::toLesson);
+        return mapReferenceTable("lessons", LESSON_LIST_COLUMNS, ModelAdapters.LESSON);
+    }
+
+    /**
+     * Returns the full lesson row, including the long description that list screens do not
+     * download. Results are cached per lesson ID.
+     */
+    public Lesson getLessonDetails(String lessonId) {
+        if (lessonId == null || lessonId.isBlank()) {
+            return null;
+        }
+        Lesson cached = lessonDetailCache.get(lessonId);
+        if (cached != null) {
+            return cached;
+        }
+        List<Lesson> matches = mapTable("lessons", null, "id=eq." + lessonId + "&limit=1", ModelAdapters.LESSON);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        lessonDetailCache.put(lessonId, matches.get(0));
+        return matches.get(0);
     }
 
     public List<QuizResult> getQuizResults() {
         if (quizCache != null) {
             return quizCache;
         }
-        return mapTable("quiz_results", null, this::toQuizResult);
+        return mapTable("quiz_results", QUIZ_RESULT_COLUMNS, null, ModelAdapters.QUIZ_RESULT);
     }
 
     public List<JobOpportunity> getJobOpportunities() {
         if (jobCache != null) {
             return jobCache;
         }
-        jobCache = mapTable("jobs", null, this::toJobOpportunity);
+        loadJobs(mapTablePaged("jobs", JOB_LIST_COLUMNS, this::toJobOpportunity));
         return jobCache;
     }
 
+    /**
+     * Jobs matching every word of {@code query} in their title, company, category, skills or
+     * locality, best match first. Words also match longer words they are a prefix of.
+     */
+    public List<JobOpportunity> searchJobs(String query) {
+        if (jobCache == null) {
+            getJobOpportunities();
+        }
+        return jobSearchIndex.search(query);
+    }
+
+    private void loadJobs(List<JobOpportunity> jobs) {
+        synchronized (jobCacheLock) {
+            jobSearchIndex.rebuild(jobs);
+            jobCache = jobs;
+        }
+    }
+
+    /**
+     * Returns the full job row, including safety guidance and contact details that the
+     * listing projection leaves out. Results are cached per job ID.
+     */
+    public JobOpportunity getJobDetails(String jobId) {
+        if (jobId == null || jobId.isBlank()) {
+            return null;
+        }
+        JobOpportunity cached = jobDetailCache.get(jobId);
+        if (cached != null) {
+            return cached;
+        }
+        String query = "id=eq." + URLEncoder.encode(jobId, StandardCharsets.UTF_8) + "&limit=1";
+        List<JobOpportunity> matches = mapTable("jobs", null, query, ModelAdapters.JOB_OPPORTUNITY);
+        if (matches.isEmpty()) {
+            return null;
+        }
+        jobDetailCache.put(jobId, matches.get(0));
+        return matches.get(0);
+    }
+
     public LocalDateTime getLatestJobSyncTime() {
         try {
             // Fetch only the created_at of the most recent job
-            String query = "select=created_at&order=created_at.desc&limit=1";
-            JsonArray data = supabaseClient.fetchTable("jobs", query, null);
+            String query = "order=created_at.desc&limit=1";
+            JsonArray data = supabaseClient.fetchTable("jobs", List.of("created_at"), query, null);
             if (data != null && !data.isEmpty()) {
                 JsonObject obj = data.get(0).getAsJsonObject();
                 if (obj.has("created_at") && !obj.get("created_at").isJsonNull()) {
@@ -120,50 +348,72 @@ public class DataRepository {
         return null;
     }
 
+    /**
+     * Upserts {@code jobs} in concurrent, size-limited chunks and merges the written rows into the
+     * local job cache, so the cost follows the number of jobs sent rather than the size of the table.
+     */
     public List<JobOpportunity> syncJobs(List<JobOpportunity> jobs) {
         if (jobs == null || jobs.isEmpty()) {
             return getJobOpportunities();
         }
-        JsonArray payload = new JsonArray();
+        // One upsert cannot touch the same id twice, so the last copy of each job wins
+        Map<String, JobOpportunity> unique = new LinkedHashMap<>();
         for (JobOpportunity job : jobs) {
-            if (job == null) {
-                continue;
+            if (job != null && job.getId() != null) {
+                unique.put(job.getId(), job);
             }
-            payload.add(jobToPayload(job));
         }
-        JsonArray inserted = safeInsertRecord("jobs", "on_conflict=id", payload, null);
-        List<JobOpportunity> allJobsFromDb = mapTable("jobs", null, this::toJobOpportunity);
-        if (!allJobsFromDb.isEmpty()) {
-            jobCache = allJobsFromDb;
-            return jobCache;
+        List<JobOpportunity> written = bulkUpsert.upsert("jobs", "id", List.copyOf(unique.values()),
+                this::jobToPayload, null, BACKGROUND_WRITE_TIMEOUT);
+        if (written.isEmpty()) {
+            return jobCache != null ? jobCache : List.copyOf(unique.values());
         }
-        List<JobOpportunity> persisted = parseJobArray(inserted);
-        if (!persisted.isEmpty()) {
-            jobCache = persisted;
-            return persisted;
+        if (jobCache == null) {
+            // Nothing to merge into yet; this first load already includes the rows just written
+            return getJobOpportunities();
         }
-        jobCache = List.copyOf(jobs);
+        mergeIntoJobCache(written);
         return jobCache;
     }
 
+    private void mergeIntoJobCache(List<JobOpportunity> written) {
+        // Ingestion delivers batches from several threads; merge them one at a time
+        synchronized (jobCacheLock) {
+            Map<String, JobOpportunity> merged = new LinkedHashMap<>();
+            for (JobOpportunity job : jobCache) {
+                merged.put(job.getId(), job);
+            }
+            for (JobOpportunity job : written) {
+                merged.put(job.getId(), job);
+                // The sent rows carry every column, so they double as detail entries
+                jobDetailCache.put(job.getId(), job);
+            }
+            jobCache = List.copyOf(merged.values());
+            jobSearchIndex.addAll(written);
+        }
+    }
+
     public List<StudentProfile> getStudentProfiles() {
         if (profileCache != null) {
             return profileCache;
         }
-        return mapTable("profiles", null, this::toStudentProfile);
+        return mapTablePaged("profiles", PROFILE_COLUMNS, this::toStudentProfile);
     }
 
     public List<QuizDefinition> getQuizDefinitions() {
         if (quizDefinitionCache != null) {
             return quizDefinitionCache;
         }
-        return mapTable("quizzes", null, this::toQuizDefinition);
+        return mapReferenceTable("quizzes", QUIZ_COLUMNS, ModelAdapters.QUIZ_DEFINITION);
     }
 
     public List<QuizDefinition> getQuizzesForLesson(String lessonId) {
         if (lessonId == null || lessonId.isBlank()) {
             return List.of();
         }
+        if (quizDefinitionCache != null) {
+            return quizzesByLesson.get(lessonId);
+        }
         return getQuizDefinitions().stream()
                 .filter(q -> lessonId.equals(q.getLessonId()))
                 .collect(Collectors.toList());
@@ -173,23 +423,37 @@ public class DataRepository {
         if (quizId == null || quizId.isBlank()) {
             return List.of();
         }
-        List<QuizQuestion> cache = quizQuestionCache != null
-                ? quizQuestionCache
-                : mapTable("quiz_questions", null, this::toQuizQuestion);
-        return cache.stream()
-                .filter(q -> quizId.equals(q.getQuizId()))
-                .collect(Collectors.toList());
+        if (quizQuestionCache == null) {
+            loadQuizQuestions(mapReferenceTable("quiz_questions", QUIZ_QUESTION_COLUMNS, ModelAdapters.QUIZ_QUESTION));
+        }
+        return questionsByQuiz.get(quizId);
     }
 
     public List<LessonCompletion> getLessonCompletions() {
-        return lessonCompletionCache != null ? lessonCompletionCache : List.of();
+        return lessonCompletionCache.values();
     }
 
     public boolean isLessonCompleted(String lessonId) {
-        if (lessonId == null || lessonCompletionCache == null) {
+        if (lessonId == null) {
             return false;
         }
-        return lessonCompletionCache.stream().anyMatch(c -> lessonId.equals(c.getLessonId()));
+        return completionsByLesson.contains(lessonId);
+    }
+
+    // Each loader builds the index before publishing the list, so a non-null cache always has one
+    private void loadQuizDefinitions(List<QuizDefinition> quizzes) {
+        quizzesByLesson.rebuild(quizzes);
+        quizDefinitionCache = quizzes;
+    }
+
+    private void loadQuizQuestions(List<QuizQuestion> questions) {
+        questionsByQuiz.rebuild(questions);
+        quizQuestionCache = questions;
+    }
+
+    private void loadLessonCompletions(List<LessonCompletion> completions) {
+        completionsByLesson.rebuild(completions);
+        lessonCompletionCache.load(completions);
     }
 
     public Map<String, Double> getQuizStats(User user) {
@@ -221,7 +485,7 @@ public class DataRepository {
     public void awardParivaarPoints(User user, int amount, String reason) {
         if (user == null || amount <= 0) return;
         
-        StudentProgress progress = getStudentProgress(user.getEmail());
+        StudentProgress progress = refreshStudentProgress(user.getEmail());
         if (progress == null) {
             // Create a default progress object if none exists
             progress = new StudentProgress(user.getName(), user.getEmail(), 0, getLessons().size(), 0, 0, 0, 0, 0, 0, 0, 0);
@@ -258,9 +522,9 @@ public class DataRepository {
 
             // Refresh cache from server to stay in sync if possible
             try {
-                List<StudentProgress> refreshed = mapTable("student_progress", null, this::toStudentProgress);
+                List<StudentProgress> refreshed = mapTablePaged("student_progress", STUDENT_PROGRESS_COLUMNS, this::toStudentProgress);
                 if (refreshed != null && !refreshed.isEmpty()) {
-                    studentProgressCache = refreshed;
+                    studentProgressCache.load(refreshed);
                 }
             } catch (Exception e) {
                 System.err.println("[DataRepository] Failed to refresh student progress cache: " + e.getMessage());
@@ -316,7 +580,7 @@ public class DataRepository {
             responses.forEach(responseArray::add);
         }
         payload.add("responses", responseArray);
-        JsonArray inserted = safeInsertRecord("quiz_attempts", null, payload, user.getAccessToken());
+        JsonArray inserted = journaledInsert("quiz_attempts", null, payload, user.getAccessToken(), "Quiz attempt");
         if (inserted != null && !inserted.isEmpty()) {
             QuizAttempt attempt = toQuizAttempt(inserted.get(0).getAsJsonObject());
             cacheQuizAttempt(attempt);
@@ -334,7 +598,7 @@ public class DataRepository {
         payload.addProperty("lesson_id", lesson.getId());
         payload.addProperty("user_email", user.getEmail().toLowerCase(Locale.ROOT));
         payload.addProperty("quiz_attempt_id", attempt.getId());
-        JsonArray inserted = safeInsertRecord("lesson_completions", null, payload, user.getAccessToken());
+        JsonArray inserted = journaledInsert("lesson_completions", null, payload, user.getAccessToken(), "Lesson completion");
         if (inserted != null && !inserted.isEmpty()) {
             LessonCompletion completion = toLessonCompletion(inserted.get(0).getAsJsonObject());
             cacheLessonCompletion(completion);
@@ -345,7 +609,7 @@ public class DataRepository {
     }
 
     public List<NotificationItem> getNotifications(User user) {
-        List<NotificationItem> base = notificationsCache != null ? notificationsCache : mapTable("notifications", null, this::toNotification);
+        List<NotificationItem> base = notificationsCache != null ? notificationsCache : mapReferenceTable("notifications", NOTIFICATION_COLUMNS, ModelAdapters.NOTIFICATION);
         List<NotificationItem> result = new ArrayList<>(base);
         String noteText = user.getRole() == UserRole.STUDENT
                 ? "Your mentor flagged missing receipts for last week."
@@ -369,7 +633,7 @@ public class DataRepository {
         payload.addProperty("user_email", user.getEmail().toLowerCase(Locale.ROOT));
         payload.addProperty("current_budget", currentBudget);
         payload.addProperty("target_savings", targetSavings);
-        JsonArray inserted = safeInsertRecord("budget_goals", "on_conflict=user_email", payload, user.getAccessToken());
+        JsonArray inserted = journaledInsert("budget_goals", "on_conflict=user_email", payload, user.getAccessToken(), "Budget goal");
         if (inserted != null && !inserted.isEmpty()) {
             BudgetGoal goal = toBudgetGoal(inserted.get(0).getAsJsonObject());
             cacheBudgetGoal(goal);
@@ -406,8 +670,8 @@ public class DataRepository {
     private void fetchQuizRewardsFromSupabase(User user) {
         if (user == null) return;
         try {
-            String query = "select=question_id&user_email=eq." + user.getEmail().toLowerCase(Locale.ROOT);
-            JsonArray data = supabaseClient.fetchTable("quiz_rewards", query, user.getAccessToken());
+            String query = "user_email=eq." + user.getEmail().toLowerCase(Locale.ROOT);
+            JsonArray data = supabaseClient.fetchTable("quiz_rewards", List.of("question_id"), query, user.getAccessToken());
             rewardedQuestionsCache.clear();
             if (data != null) {
                 for (JsonElement e : data) {
@@ -422,10 +686,10 @@ public class DataRepository {
     }
 
     public List<StudentProgress> getStudentsProgress() {
-        if (studentProgressCache != null) {
-            return studentProgressCache;
+        if (studentProgressCache.isLoaded()) {
+            return studentProgressCache.values();
         }
-        return mapTable("student_progress", null, this::toStudentProgress);
+        return mapTablePaged("student_progress", STUDENT_PROGRESS_COLUMNS, this::toStudentProgress);
     }
 
     public List<WalletEntry> loadWallet(User user) {
@@ -500,26 +764,65 @@ public class DataRepository {
                 .collect(Collectors.groupingBy(WalletEntry::getCategory, Collectors.summingDouble(WalletEntry::getAmount)));
     }
 
-    private <T> List<T> mapTable(String table, String query, Function<JsonObject, T> mapper) {
-        return mapTable(table, query, mapper, null);
+    /**
+     * Maps a whole table by walking it in keyset-paginated pages, so unfiltered scans are not capped
+     * by PostgREST's max-rows limit and never materialise the full response as one JSON tree.
+     */
+    private <T> List<T> mapTablePaged(String table, List<String> columns, Function<JsonObject, T> mapper) {
+        try (Stream<JsonObject> rows = supabaseClient.streamTable(table, columns, null, null, TABLE_PAGE_SIZE)) {
+            return rows.map(mapper)
+                    .filter(Objects::nonNull)
+                    .collect(Collectors.toUnmodifiableList());
+        } catch (Exception e) {
+            System.err.println("[DataRepository] Paged fetch of " + table + " failed: " + e.getMessage());
+            return List.of();
+        }
     }
 
-    private <T> List<T> mapTable(String table, String query, Function<JsonObject, T> mapper, String bearerToken) {
+    /**
+     * Maps a rarely changing reference table, revalidating the previous download instead of
+     * transferring the whole table again when nothing has changed.
+     */
+    private <T> List<T> mapReferenceTable(String table, List<String> columns, RowReader<T> adapter) {
         try {
-            JsonArray data = supabaseClient.fetchTable(table, query, bearerToken);
-            List<T> records = new ArrayList<>();
-            if (data != null) {
-                for (JsonElement element : data) {
-                    if (!element.isJsonObject()) {
-                        continue;
-                    }
-                    T mapped = mapper.apply(element.getAsJsonObject());
-                    if (mapped != null) {
-                        records.add(mapped);
-                    }
-                }
-            }
-            return List.copyOf(records);
+            return List.copyOf(supabaseClient.fetchRowsValidated(table, columns, null, null, adapter));
+        } catch (Exception e) {
+            return List.of();
+        }
+    }
+
+    /**
+     * Reads {@code filter}'s rows of an append-mostly table through the delta-sync engine, so repeat
+     * reads only transfer rows changed since the last one. Falls back to a full read if the delta path
+     * fails, e.g. before {@code updated_at} exists on the table.
+     */
+    private <T> List<T> syncTable(String table,
+                                  List<String> columns,
+                                  String filter,
+                                  String orderColumn,
+                                  Integer limit,
+                                  RowReader<T> adapter,
+                                  String bearerToken) {
+        if (analyticsWrites.hasPending(table)) {
+            analyticsWrites.flush();
+        }
+        try {
+            return deltaSync.sync(table, columns, filter, orderColumn, limit, adapter, bearerToken);
+        } catch (Exception e) {
+            System.err.println("[DataRepository] Delta sync of " + table + " failed, reading in full: " + e.getMessage());
+            String query = (filter.isBlank() ? "" : filter + "&") + "order=" + orderColumn + ".desc"
+                    + (limit != null ? "&limit=" + limit : "");
+            return mapTable(table, columns, query, adapter, bearerToken);
+        }
+    }
+
+    private <T> List<T> mapTable(String table, List<String> columns, String query, RowReader<T> adapter) {
+        return mapTable(table, columns, query, adapter, null);
+    }
+
+    private <T> List<T> mapTable(String table, List<String> columns, String query, RowReader<T> adapter, String bearerToken) {
+        try {
+            return List.copyOf(supabaseClient.fetchRows(table, columns, query, bearerToken, adapter));
         } catch (Exception e) {
             return List.of();
         }
@@ -598,13 +901,16 @@ public class DataRepository {
         payload.addProperty("note", entry.getNote());
         payload.addProperty("entry_date", entry.getDate().toString());
         String token = user != null ? user.getAccessToken() : getSafeToken();
-        safeInsertRecord("wallet_entries", null, payload, token);
+        journaledInsert("wallet_entries", null, payload, token, "Wallet entry");
+        walletReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
+        progressReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
     }
 
     private void cacheLesson(Lesson lesson) {
         if (lesson == null) {
             return;
         }
+        lessonDetailCache.put(lesson.getId(), lesson);
         List<Lesson> updated = new ArrayList<>(lessonsCache != null ? lessonsCache : List.of());
         updated.add(lesson);
         lessonsCache = List.copyOf(updated);
@@ -616,6 +922,7 @@ public class DataRepository {
         }
         List<QuizDefinition> updated = new ArrayList<>(quizDefinitionCache != null ? quizDefinitionCache : List.of());
         updated.add(quiz);
+        quizzesByLesson.add(quiz);
         quizDefinitionCache = List.copyOf(updated);
     }
 
@@ -625,132 +932,36 @@ public class DataRepository {
         }
         List<QuizQuestion> updated = new ArrayList<>(quizQuestionCache != null ? quizQuestionCache : List.of());
         updated.add(question);
+        questionsByQuiz.add(question);
         quizQuestionCache = List.copyOf(updated);
     }
 
     private Lesson toLesson(JsonObject json) {
-        return new Lesson(
-                safeString(json, "id", ""),
-                safeString(json, "title", "Untitled lesson"),
-                safeString(json, "difficulty", "Beginner"),
-                safeString(json, "description", "Details coming soon."),
-                safeInt(json, "progress_percent", 0),
-                safeInt(json, "quizzes_completed", 0),
-                safeInt(json, "quizzes_total", 0),
-                safeString(json, "course_url", "")
-        );
+        return ModelAdapters.LESSON.fromJsonTree(json);
     }
 
     private QuizDefinition toQuizDefinition(JsonObject json) {
-        return new QuizDefinition(
-                safeString(json, "id", ""),
-                safeString(json, "lesson_id", ""),
-                safeString(json, "title", "Quiz"),
-                safeString(json, "difficulty", "Beginner"),
-                safeInt(json, "passing_marks", 0),
-                safeInt(json, "total_marks", 0)
-        );
+        return ModelAdapters.QUIZ_DEFINITION.fromJsonTree(json);
     }
 
     private QuizQuestion toQuizQuestion(JsonObject json) {
-        return new QuizQuestion(
-                safeString(json, "id", ""),
-                safeString(json, "quiz_id", ""),
-                safeString(json, "question", ""),
-                safeStringList(json, "options"),
-                safeInt(json, "correct_option", 0),
-                safeInt(json, "points", 1)
-        );
+        return ModelAdapters.QUIZ_QUESTION.fromJsonTree(json);
     }
 
     private QuizAttempt toQuizAttempt(JsonObject json) {
-        return new QuizAttempt(
-                safeString(json, "id", ""),
-                safeString(json, "quiz_id", ""),
-                safeString(json, "user_email", ""),
-                safeInt(json, "score", 0),
-                safeInt(json, "max_score", 0),
-                safeBoolean(json, "passed", false),
-                safeIntList(json, "responses"),
-                safeDateTime(json, "created_at", LocalDateTime.now())
-        );
+        return ModelAdapters.QUIZ_ATTEMPT.fromJsonTree(json);
     }
 
     private LessonCompletion toLessonCompletion(JsonObject json) {
-        return new LessonCompletion(
-                safeString(json, "id", ""),
-                safeString(json, "lesson_id", ""),
-                safeString(json, "user_email", ""),
-                safeString(json, "quiz_attempt_id", ""),
-                safeDateTime(json, "completed_at", LocalDateTime.now())
-        );
-    }
-
-    private boolean safeBoolean(JsonObject json, String key, boolean fallback) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            try {
-                return json.get(key).getAsBoolean();
-            } catch (Exception ignored) {
-            }
-        }
-        return fallback;
-    }
-
-    private List<Integer> safeIntList(JsonObject json, String key) {
-        if (json.has(key) && !json.get(key).isJsonNull() && json.get(key).isJsonArray()) {
-            List<Integer> list = new ArrayList<>();
-            JsonArray array = json.get(key).getAsJsonArray();
-            for (JsonElement element : array) {
-                if (!element.isJsonNull()) {
-                    try {
-                        list.add(element.getAsInt());
-                    } catch (Exception ignored) {
-                    }
-                }
-            }
-            return List.copyOf(list);
-        }
-        return List.of();
-    }
-
-    private LocalDateTime safeDateTime(JsonObject json, String key, LocalDateTime fallback) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            try {
-                return LocalDateTime.parse(json.get(key).getAsString());
-            } catch (Exception ignored) {
-            }
-        }
-        return fallback;
+        return ModelAdapters.LESSON_COMPLETION.fromJsonTree(json);
     }
 
     private QuizResult toQuizResult(JsonObject json) {
-        return new QuizResult(
-                safeString(json, "title", "Quiz"),
-                safeInt(json, "score", 0),
-                safeString(json, "difficulty", "Beginner"),
-                safeInt(json, "coins_awarded", 0)
-        );
+        return ModelAdapters.QUIZ_RESULT.fromJsonTree(json);
     }
 
     private JobOpportunity toJobOpportunity(JsonObject json) {
-        return new JobOpportunity(
-                safeString(json, "id", ""),
-                safeString(json, "title", "Job Opportunity"),
-                safeString(json, "company_name", "Partner Organisation"),
-                safeString(json, "location", "Unknown"),
-                safeString(json, "locality", "Unknown"),
-                safeString(json, "job_link", ""),
-                safeLong(json, "pub_date_ts_milli", 0L),
-                safeString(json, "formatted_relative_time", ""),
-                safeNullableDouble(json, "salary_min"),
-                safeNullableDouble(json, "salary_max"),
-                safeString(json, "salary_type", ""),
-                safeString(json, "category", "General"),
-                safeStringList(json, "required_skills"),
-                safeString(json, "working_hours", "Full-time"),
-                safeString(json, "safety_guidance", "Always verify employer identity."),
-                safeString(json, "contact_info", "Apply via Indeed.")
-        );
+        return ModelAdapters.JOB_OPPORTUNITY.fromJsonTree(json);
     }
 
     private JsonObject jobToPayload(JobOpportunity job) {
@@ -785,48 +996,55 @@ public class DataRepository {
 
     public void toggleFavorite(User user, String jobId) {
         if (user == null || jobId == null) return;
+        // Membership comes from the prefetched IDs, so the toggle also works offline
+        setFavorite(user, jobId, !favoriteIdsCache.contains(jobId));
+    }
+
+    /**
+     * Saves or un-saves a job. Setting the state it already has is a harmless repeat, so callers
+     * can apply a change optimistically and send it afterwards.
+     *
+     * @return true when the change was written or queued for offline sync; the caches are only
+     *         updated in that case
+     */
+    public boolean setFavorite(User user, String jobId, boolean favorite) {
+        if (user == null || jobId == null) return false;
         try {
-            // Check if the job is already favorited by fetching the record
             String query = "user_email=eq." + user.getEmail() + "&job_id=eq." + jobId;
-            JsonArray existing = supabaseClient.fetchTable("job_favorites", query, null);
+            progressReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
+            if (!favorite) {
+                if (!journaledDelete("job_favorites", query, null, "Remove saved job")) {
+                    return false;
+                }
 
-            if (existing != null && !existing.isEmpty()) {
-                String idToRemove = existing.get(0).getAsJsonObject().get("id").getAsString();
-                supabaseClient.deleteRecord("job_favorites", "id=eq." + idToRemove, null);
-                
                 // Update caches
-                List<String> updatedIds = new ArrayList<>(favoriteIdsCache);
-                updatedIds.remove(jobId);
-                this.favoriteIdsCache = List.copyOf(updatedIds);
-                
-                List<JobOpportunity> updatedJobs = new ArrayList<>(favoriteJobsCache);
-                updatedJobs.removeIf(j -> j.getId().equals(jobId));
-                this.favoriteJobsCache = List.copyOf(updatedJobs);
+                favoriteIdsCache.remove(jobId);
+                favoriteJobsCache.remove(jobId);
             } else {
                 JsonObject fav = new JsonObject();
                 fav.addProperty("user_email", user.getEmail());
                 fav.addProperty("job_id", jobId);
-                JsonArray result = safeInsertRecord("job_favorites", null, fav, null);
-                
+                // Upsert on the natural key, so saving a job the server already has (stale cache,
+                // another device, a replayed write) is a no-op rather than a 409
+                if (journaledInsert("job_favorites", "on_conflict=user_email,job_id", fav, null, "Save job") == null) {
+                    return false;
+                }
+
                 // Update caches
-                List<String> updatedIds = new ArrayList<>(favoriteIdsCache);
-                updatedIds.add(jobId);
-                this.favoriteIdsCache = List.copyOf(updatedIds);
-                
+                favoriteIdsCache.put(jobId);
+
                 // If we have the job in cache, add to favorite jobs cache
                 if (jobCache != null) { // Assuming jobCache is a List<JobOpportunity> containing all jobs
                     jobCache.stream()
                             .filter(j -> j.getId().equals(jobId))
                             .findFirst()
-                            .ifPresent(j -> {
-                                List<JobOpportunity> updatedJobs = new ArrayList<>(favoriteJobsCache);
-                                updatedJobs.add(j);
-                                this.favoriteJobsCache = List.copyOf(updatedJobs);
-                            });
+                            .ifPresent(favoriteJobsCache::put);
                 }
             }
+            return true;
         } catch (Exception e) {
             System.err.println("[DataRepository] Favorite toggle failed: " + e.getMessage());
+            return false;
         }
     }
 
@@ -835,15 +1053,18 @@ public class DataRepository {
         return favoriteIdsCache.contains(jobId);
     }
 
-    public List<String> fetchFavoriteJobIds(User user) {
-        return favoriteIdsCache;
+    /**
+     * Saved job IDs as a read-only set, so per-card membership checks are hash lookups.
+     */
+    public Set<String> fetchFavoriteJobIds(User user) {
+        return favoriteIdsCache.keys();
     }
 
     private List<String> fetchFavoriteJobIdsFromSupabase(User user) {
         if (user == null) return Collections.emptyList();
         try {
-            String query = "select=job_id&user_email=eq." + user.getEmail();
-            JsonArray data = supabaseClient.fetchTable("job_favorites", query, null);
+            String query = "user_email=eq." + user.getEmail();
+            JsonArray data = supabaseClient.fetchTable("job_favorites", List.of("job_id"), query, null);
             List<String> ids = new ArrayList<>();
             for (JsonElement e : data) {
                 ids.add(e.getAsJsonObject().get("job_id").getAsString());
@@ -855,45 +1076,34 @@ public class DataRepository {
     }
 
     public List<JobOpportunity> fetchFavoriteJobs(User user) {
-        return favoriteJobsCache;
+        return favoriteJobsCache.values();
     }
 
     public void removeFavoriteJob(String userId, String jobId) {
         User user = getCurrentUser();
         if (user == null || jobId == null) return;
         try {
-            // Check if the job is favorited and remove it
+            // Deleting by filter is a no-op when the job was not saved, so no lookup is needed first
             String query = "user_email=eq." + user.getEmail() + "&job_id=eq." + jobId;
-            JsonArray existing = supabaseClient.fetchTable("job_favorites", query, null);
+            journaledDelete("job_favorites", query, null, "Remove saved job");
+            progressReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
 
-            if (existing != null && !existing.isEmpty()) {
-                String idToRemove = existing.get(0).getAsJsonObject().get("id").getAsString();
-                supabaseClient.deleteRecord("job_favorites", "id=eq." + idToRemove, null);
-                
-                // Update caches
-                List<String> updatedIds = new ArrayList<>(favoriteIdsCache);
-                updatedIds.remove(jobId);
-                this.favoriteIdsCache = List.copyOf(updatedIds);
-                
-                List<JobOpportunity> updatedJobs = new ArrayList<>(favoriteJobsCache);
-                updatedJobs.removeIf(j -> j.getId().equals(jobId));
-                this.favoriteJobsCache = List.copyOf(updatedJobs);
-            }
+            // Update caches
+            favoriteIdsCache.remove(jobId);
+            favoriteJobsCache.remove(jobId);
         } catch (Exception e) {
             System.err.println("[DataRepository] Remove favorite failed: " + e.getMessage());
         }
     }
 
-    private List<JobOpportunity> fetchFavoriteJobsFromSupabase(User user) {
-        if (user == null) return Collections.emptyList();
-        List<String> jobIds = fetchFavoriteJobIdsFromSupabase(user);
-        if (jobIds.isEmpty()) return Collections.emptyList();
+    private List<JobOpportunity> fetchFavoriteJobsFromSupabase(List<String> jobIds) {
+        if (jobIds == null || jobIds.isEmpty()) return Collections.emptyList();
 
         try {
             // Join IDs into a comma-separated list for the 'in' filter
             String idsFilter = String.join(",", jobIds);
             String query = "id=in.(" + idsFilter + ")";
-            JsonArray data = supabaseClient.fetchTable("jobs", query, null);
+            JsonArray data = supabaseClient.fetchTable("jobs", JOB_LIST_COLUMNS, query, null);
             return parseJobArray(data);
         } catch (Exception e) {
             System.err.println("[DataRepository] Failed to fetch favorite job details: " + e.getMessage());
@@ -951,37 +1161,31 @@ public class DataRepository {
     }
 
     private NotificationItem toNotification(JsonObject json) {
-        return new NotificationItem(
-                safeString(json, "title", "New update"),
-                safeString(json, "description", ""),
-                safeString(json, "severity", "info"),
-                safeDate(json, "notify_date", LocalDate.now())
-        );
+        return ModelAdapters.NOTIFICATION.fromJsonTree(json);
     }
 
     private StudentProfile toStudentProfile(JsonObject json) {
-        return new StudentProfile(
-                safeString(json, "id", ""),
-                safeString(json, "email", ""),
-                safeString(json, "role", "student"),
-                safeDateTime(json, "created_at", null)
-        );
+        return ModelAdapters.STUDENT_PROFILE.fromJsonTree(json);
     }
 
     public List<WalletEntry> fetchWalletByEmail(String userEmail) {
         if (userEmail == null || userEmail.isEmpty()) return Collections.emptyList();
-        String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
+        String normalized = userEmail.toLowerCase(Locale.ROOT);
+        return walletReads.get(normalized, () -> loadWalletByEmail(normalized));
+    }
+
+    private List<WalletEntry> loadWalletByEmail(String normalized) {
+        String encoded = URLEncoder.encode(normalized, StandardCharsets.UTF_8);
         // Correct column name is owner_email according to migration 010
-        String query = "owner_email=eq." + encoded + "&order=created_at.desc";
-        return mapTable("wallet_entries", query, this::toWalletEntry, getSafeToken());
+        return syncTable("wallet_entries", WALLET_ENTRY_COLUMNS, "owner_email=eq." + encoded, "created_at", null,
+                ModelAdapters.WALLET_ENTRY, getSafeToken());
     }
 
     public List<WalletEntry> fetchWalletEntries(User user) {
         if (user == null || user.getEmail() == null) return Collections.emptyList();
         String encoded = URLEncoder.encode(user.getEmail().toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "owner_email=eq." + encoded + "&order=entry_date.desc";
-        String token = user.getAccessToken();
-        return mapTable("wallet_entries", query, this::toWalletEntry, token);
+        return syncTable("wallet_entries", WALLET_ENTRY_COLUMNS, "owner_email=eq." + encoded, "entry_date", null,
+                ModelAdapters.WALLET_ENTRY, user.getAccessToken());
     }
 
     private String getSafeToken() {
@@ -989,79 +1193,337 @@ public class DataRepository {
     }
 
     private StudentProgress toStudentProgress(JsonObject json) {
-        return new StudentProgress(
-                safeString(json, "student_name", "Unknown Student"),
-                safeString(json, "user_email", ""),
-                safeInt(json, "modules_completed", 0),
-                safeInt(json, "total_modules", 0),
-                safeInt(json, "quizzes_taken", 0),
-                safeDouble(json, "average_score", 0.0),
-                safeDouble(json, "wallet_health_score", 0.0),
-                safeInt(json, "parivaar_points", 0),
-                safeInt(json, "employment_applications", 0),
-                safeInt(json, "job_saves", 0),
-                safeInt(json, "wallet_savings", 0),
-                safeInt(json, "alerts", 0)
-        );
+        return ModelAdapters.STUDENT_PROGRESS.fromJsonTree(json);
     }
 
     public StudentProgress getProgressForEmail(String email) {
         return getStudentProgress(email);
     }
 
+    /**
+     * Progress for {@code email}, served from memory while recent. Tab switches call this repeatedly,
+     * so only the first call in {@code READ_TTL} goes to Supabase.
+     */
     public StudentProgress getStudentProgress(String email) {
         if (email == null) return null;
-        
         String normalized = email.toLowerCase(Locale.ROOT);
+        return progressReads.get(normalized, () -> loadStudentProgress(normalized));
+    }
+
+    /**
+     * Reads progress from Supabase regardless of the cache, for read-modify-write updates.
+     */
+    private StudentProgress refreshStudentProgress(String email) {
+        if (email == null) return null;
+        String normalized = email.toLowerCase(Locale.ROOT);
+        StudentProgress progress = loadStudentProgress(normalized);
+        progressReads.put(normalized, progress);
+        return progress;
+    }
+
+    private StudentProgress loadStudentProgress(String normalized) {
+        // Fast path: one aggregated row from the server-side summary view
+        Map<String, StudentProgress> summary = fetchProgressSummaries(List.of(normalized));
+        StudentProgress progress = summary != null
+                ? summary.get(normalized)
+                : computeStudentProgress(normalized);
+
+        // Cache it
+        cacheStudentProgress(progress);
+        
+        // Optionally update the persistent record asynchronously so it stays relatively fresh
+        // but we return the calculated one immediately.
+        supabaseClient.insertRecordAsync("student_progress", "on_conflict=user_email",
+                        studentProgressPayload(progress), getSafeToken(), BACKGROUND_WRITE_TIMEOUT)
+                .exceptionally(error -> {
+                    System.err.println("[DataRepository] Background progress upsert failed: " + error.getMessage());
+                    return null;
+                });
         
+        return progress;
+    }
+
+    /**
+     * Client-side fallback used when the {@code student_progress_summary} view is unavailable:
+     * downloads the student's rows from each source table and aggregates them locally.
+     */
+    private StudentProgress computeStudentProgress(String normalized) {
         // Fetch existing record to get the name (if available)
         StudentProgress existing = fetchStudentProgressRecord(normalized);
         String studentName = (existing != null && existing.getStudentName() != null) ? existing.getStudentName() : "Student";
         
         // 1. Fetch Lessons Count (Live)
-        List<LessonCompletion> completions = fetchLessonCompletionsByEmail(normalized);
-        int modulesCompleted = completions.size();
+        int modulesCompleted = countLessonCompletions(normalized);
 
         // 2. Fetch Quiz Stats (Live)
         List<QuizAttempt> attempts = fetchQuizAttemptsByEmail(normalized);
-        int quizzesTaken = attempts.size();
-        
+
+        // 3. Fetch Wallet Stats (Live)
+        List<WalletEntry> wallet = fetchWalletByEmail(normalized);
+
+        // 4. Fetch Job Activity (Live)
+        int employmentApplications = countJobApplications(normalized);
+        int jobSaves = fetchJobSavesCount(normalized);
+
+        // 5. Fetch Alerts (Live)
+        int alertsCount = countAlerts(normalized);
+
+        return buildStudentProgress(studentName, normalized, modulesCompleted, attempts, wallet,
+                employmentApplications, jobSaves, alertsCount);
+    }
+
+    /**
+     * Computes progress for a whole cohort in a handful of round trips. The aggregated
+     * {@code student_progress_summary} view is tried first; if it is unavailable each source table
+     * is fetched once with an {@code in.(...)} filter over all emails (chunked to keep URLs short),
+     * rows are grouped by email in memory, and every {@link StudentProgress} is built in one pass.
+     * The refreshed records are written back with a single bulk upsert. A student whose rows could
+     * not all be read is left out of the result (and the upsert) rather than reported as zero.
+     *
+     * @return progress keyed by lower-cased email, in the order the emails were given
+     */
+    public Map<String, StudentProgress> getStudentProgressBulk(Collection<String> emails) {
+        if (emails == null || emails.isEmpty()) {
+            return Map.of();
+        }
+        List<String> normalized = emails.stream()
+                .filter(Objects::nonNull)
+                .map(email -> email.toLowerCase(Locale.ROOT))
+                .distinct()
+                .collect(Collectors.toList());
+        if (normalized.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, StudentProgress> result = fetchProgressSummaries(normalized);
+        if (result == null) {
+            result = computeStudentProgressBulk(normalized);
+        }
+
+        JsonArray upserts = new JsonArray();
+        for (StudentProgress progress : result.values()) {
+            upserts.add(studentProgressPayload(progress));
+        }
+        cacheStudentProgress(result.values());
+
+        if (!upserts.isEmpty()) {
+            supabaseClient.insertRecordAsync("student_progress", "on_conflict=user_email",
+                            upserts, getSafeToken(), BACKGROUND_WRITE_TIMEOUT)
+                    .exceptionally(error -> {
+                        System.err.println("[DataRepository] Background bulk progress upsert failed: " + error.getMessage());
+                        return null;
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * Reads aggregated rows from the {@code student_progress_summary} view (migration 026).
+     * Emails without any activity get an all-zero record.
+     *
+     * @return progress keyed by email, or {@code null} if the view is unavailable and the caller
+     *         should fall back to client-side aggregation
+     */
+    private Map<String, StudentProgress> fetchProgressSummaries(List<String> emails) {
+        if (!progressSummaryAvailable) {
+            return null;
+        }
+        flushProgressSources();
+        Map<String, StudentProgress> byEmail = new HashMap<>();
+        try {
+            for (int i = 0; i < emails.size(); i += BULK_FILTER_CHUNK) {
+                List<String> chunk = emails.subList(i, Math.min(i + BULK_FILTER_CHUNK, emails.size()));
+                JsonArray rows = supabaseClient.fetchTable("student_progress_summary",
+                        "user_email=in." + inFilter(chunk), getSafeToken());
+                for (JsonElement element : rows) {
+                    if (element.isJsonObject()) {
+                        StudentProgress progress = toProgressSummary(element.getAsJsonObject());
+                        byEmail.put(progress.getUserEmail(), progress);
+                    }
+                }
+            }
+        } catch (Exception e) {
+            SupabaseHttpException http = SupabaseHttpException.find(e);
+            if (http != null && http.isMissingRelation()) {
+                System.err.println("[DataRepository] Progress summary view unavailable, using client-side aggregation: " + e.getMessage());
+                progressSummaryAvailable = false;
+            } else {
+                // Timeouts and other transient failures fall back for this read only
+                System.err.println("[DataRepository] Progress summary read failed, using client-side aggregation: " + e.getMessage());
+            }
+            return null;
+        }
+        int totalModules = getLessons().size();
+        Map<String, StudentProgress> result = new LinkedHashMap<>();
+        for (String email : emails) {
+            StudentProgress progress = byEmail.get(email);
+            result.put(email, progress != null
+                    ? progress
+                    : new StudentProgress("Student", email, 0, totalModules, 0, 0, calculateWalletHealthScore(0), 0, 0, 0, 0, 0));
+        }
+        return result;
+    }
+
+    private StudentProgress toProgressSummary(JsonObject json) {
+        int savings = safeInt(json, "wallet_savings", 0);
+        return new StudentProgress(
+                safeString(json, "student_name", "Student"),
+                safeString(json, "user_email", "").toLowerCase(Locale.ROOT),
+                safeInt(json, "modules_completed", 0),
+                getLessons().size(),
+                safeInt(json, "quizzes_taken", 0),
+                safeDouble(json, "average_score", 0.0),
+                calculateWalletHealthScore(savings),
+                safeInt(json, "parivaar_points", 0),
+                safeInt(json, "employment_applications", 0),
+                safeInt(json, "job_saves", 0),
+                savings,
+                safeInt(json, "alerts", 0)
+        );
+    }
+
+    private Map<String, StudentProgress> computeStudentProgressBulk(List<String> normalized) {
+        flushProgressSources();
+        // Emails in a chunk that failed to load for any table; their counts would be incomplete
+        Set<String> failed = ConcurrentHashMap.newKeySet();
+        CompletableFuture<Map<String, List<StudentProgress>>> records =
+                fetchGroupedByEmail("student_progress", "user_email", STUDENT_PROGRESS_COLUMNS, normalized, failed, null, this::toStudentProgress);
+        CompletableFuture<Map<String, List<LessonCompletion>>> completions =
+                fetchGroupedByEmail("lesson_completions", "user_email", LESSON_COMPLETION_COLUMNS, normalized, failed, null, this::toLessonCompletion);
+        CompletableFuture<Map<String, List<QuizAttempt>>> attempts =
+                fetchGroupedByEmail("quiz_attempts", "user_email", QUIZ_ATTEMPT_COLUMNS, normalized, failed, null, this::toQuizAttempt);
+        CompletableFuture<Map<String, List<WalletEntry>>> wallets =
+                fetchGroupedByEmail("wallet_entries", "owner_email", WALLET_ENTRY_COLUMNS, normalized, failed, null, this::toWalletEntry);
+        CompletableFuture<Map<String, List<String>>> applications =
+                fetchGroupedByEmail("student_activity_logs", "user_email", ID_COLUMNS, normalized, failed,
+                        "activity_type=eq.job_application_event", json -> safeString(json, "id", ""));
+        CompletableFuture<Map<String, List<String>>> favorites =
+                fetchGroupedByEmail("job_favorites", "user_email", ID_COLUMNS, normalized, failed, null, json -> safeString(json, "id", ""));
+        CompletableFuture<Map<String, List<String>>> alerts =
+                fetchGroupedByEmail("alerts", "user_email", ID_COLUMNS, normalized, failed, null, json -> safeString(json, "id", ""));
+        CompletableFuture.allOf(records, completions, attempts, wallets, applications, favorites, alerts).join();
+
+        if (!failed.isEmpty()) {
+            System.err.println("[DataRepository] Skipping progress for " + failed.size() + " students with incomplete data");
+        }
+        Map<String, StudentProgress> result = new LinkedHashMap<>();
+        for (String email : normalized) {
+            if (failed.contains(email)) {
+                continue;
+            }
+            List<StudentProgress> existing = records.join().getOrDefault(email, List.of());
+            String studentName = !existing.isEmpty() && existing.get(0).getStudentName() != null
+                    ? existing.get(0).getStudentName()
+                    : "Student";
+            StudentProgress progress = buildStudentProgress(studentName, email,
+                    completions.join().getOrDefault(email, List.of()).size(),
+                    attempts.join().getOrDefault(email, List.of()),
+                    wallets.join().getOrDefault(email, List.of()),
+                    applications.join().getOrDefault(email, List.of()).size(),
+                    favorites.join().getOrDefault(email, List.of()).size(),
+                    alerts.join().getOrDefault(email, List.of()).size());
+            result.put(email, progress);
+        }
+        return result;
+    }
+
+    /**
+     * Progress counts activity logs and alerts, which are written through the write-behind buffer;
+     * flushes them first so a student's latest actions are counted.
+     */
+    private void flushProgressSources() {
+        if (analyticsWrites.hasPending("student_activity_logs") || analyticsWrites.hasPending("alerts")) {
+            analyticsWrites.flush();
+        }
+    }
+
+    private <T> CompletableFuture<Map<String, List<T>>> fetchGroupedByEmail(String table,
+                                                                             String emailColumn,
+                                                                             List<String> columns,
+                                                                             List<String> emails,
+                                                                             Set<String> failed,
+                                                                             String extraQuery,
+                                                                             Function<JsonObject, T> mapper) {
+        List<String> projection = new ArrayList<>(columns);
+        if (!projection.contains(emailColumn)) {
+            projection.add(emailColumn);
+        }
+        List<CompletableFuture<JsonArray>> chunks = new ArrayList<>();
+        for (int i = 0; i < emails.size(); i += BULK_FILTER_CHUNK) {
+            List<String> chunk = emails.subList(i, Math.min(i + BULK_FILTER_CHUNK, emails.size()));
+            String query = emailColumn + "=in." + inFilter(chunk);
+            if (extraQuery != null && !extraQuery.isBlank()) {
+                query += "&" + extraQuery;
+            }
+            chunks.add(supabaseClient.fetchTableAsync(table, projection, query, getSafeToken(), null)
+                    .exceptionally(error -> {
+                        System.err.println("[DataRepository] Bulk fetch of " + table + " failed: " + error.getMessage());
+                        failed.addAll(chunk);
+                        return new JsonArray();
+                    }));
+        }
+        return CompletableFuture.allOf(chunks.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            Map<String, List<T>> grouped = new HashMap<>();
+            for (CompletableFuture<JsonArray> chunk : chunks) {
+                for (JsonElement element : chunk.join()) {
+                    if (!element.isJsonObject()) {
+                        continue;
+                    }
+                    JsonObject json = element.getAsJsonObject();
+                    T mapped = mapper.apply(json);
+                    if (mapped != null) {
+                        String email = safeString(json, emailColumn, "").toLowerCase(Locale.ROOT);
+                        grouped.computeIfAbsent(email, key -> new ArrayList<>()).add(mapped);
+                    }
+                }
+            }
+            return grouped;
+        });
+    }
+
+    /**
+     * Builds a URL-encoded PostgREST {@code in.(...)} list. Values are double-quoted because
+     * emails contain reserved characters such as {@code .}.
+     */
+    private static String inFilter(Collection<String> values) {
+        String joined = values.stream()
+                .map(value -> "\"" + value.replace("\"", "") + "\"")
+                .collect(Collectors.joining(","));
+        return URLEncoder.encode("(" + joined + ")", StandardCharsets.UTF_8);
+    }
+
+    private StudentProgress buildStudentProgress(String studentName,
+                                                 String email,
+                                                 int modulesCompleted,
+                                                 List<QuizAttempt> attempts,
+                                                 List<WalletEntry> wallet,
+                                                 int employmentApplications,
+                                                 int jobSaves,
+                                                 int alertsCount) {
         double avgScore = attempts.stream()
                 .mapToDouble(a -> (double) a.getScore() / Math.max(a.getMaxScore(), 1) * 100)
                 .average()
                 .orElse(0.0);
 
-        // 3. Fetch Wallet Stats (Live)
         // We need total savings.
-        List<WalletEntry> wallet = fetchWalletByEmail(normalized);
         int totalSavings = (int) calculateTotalSavings(wallet);
-        
-        // Calculate "Parivaar Points" or "Total Coins" - typically distinct from savings? 
+
+        // Calculate "Parivaar Points" or "Total Coins" - typically distinct from savings?
         // Existing logic used Income of type Education?
         int totalCoins = (int) wallet.stream()
                 .filter(e -> e.getType() == WalletEntryType.INCOME && "Education".equalsIgnoreCase(e.getCategory()))
                 .mapToDouble(WalletEntry::getAmount)
                 .sum();
-        
-        // 4. Fetch Job Activity (Live)
-        List<JobApplication> apps = fetchJobApplications(normalized);
-        int employmentApplications = apps.size();
-        
-        int jobSaves = fetchJobSavesCount(normalized);
 
-        // 5. Fetch Alerts (Live)
-        List<Alert> alertsList = fetchAlerts(normalized);
-        int alertsCount = alertsList.size();
-        
         double walletHealthScore = calculateWalletHealthScore(totalSavings); // Helper method logic
 
         // Create the progress object with live data
-        StudentProgress progress = new StudentProgress(
+        return new StudentProgress(
                 studentName,
-                normalized,
+                email,
                 modulesCompleted,
                 getLessons().size(),
-                quizzesTaken,
+                attempts.size(),
                 avgScore,
                 walletHealthScore,
                 totalCoins,
@@ -1070,28 +1532,39 @@ public class DataRepository {
                 totalSavings,
                 alertsCount
         );
-        
-        // Cache it
-        cacheStudentProgress(progress);
-        
-        // Optionally update the persistent record asynchronously so it stays relatively fresh
-        // but we return the calculated one immediately.
-        CompletableFuture.runAsync(() -> updateStudentProgress(progress));
-        
-        return progress;
     }
 
     private int fetchJobSavesCount(String email) {
         if (email == null) return 0;
+        return countRows("job_favorites", "user_email=eq." + URLEncoder.encode(email, StandardCharsets.UTF_8));
+    }
+
+    private int countJobApplications(String email) {
+        String encoded = URLEncoder.encode(email.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
+        return countRows("student_activity_logs", "user_email=eq." + encoded + "&activity_type=eq.job_application_event");
+    }
+
+    private int countLessonCompletions(String email) {
+        String encoded = URLEncoder.encode(email.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
+        return countRows("lesson_completions", "user_email=eq." + encoded);
+    }
+
+    private int countAlerts(String email) {
+        String encoded = URLEncoder.encode(email.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
+        return countRows("alerts", "user_email=eq." + encoded);
+    }
+
+    /**
+     * Exact row count via a HEAD request with {@code Prefer: count=exact}; no rows are downloaded.
+     */
+    private int countRows(String table, String query) {
         try {
-            // We can just count the rows
-            String query = "user_email=eq." + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&select=count";
-            // Supabase client might not support count easily with fetchTable without 'count=exact' header
-            // Fallback: fetch IDs
-             String q = "select=id&user_email=eq." + URLEncoder.encode(email, StandardCharsets.UTF_8);
-             JsonArray data = supabaseClient.fetchTable("job_favorites", q, getSafeToken());
-             return data != null ? data.size() : 0;
+            if (analyticsWrites.hasPending(table)) {
+                analyticsWrites.flush();
+            }
+            return (int) supabaseClient.countRows(table, query, getSafeToken(), SupabaseClient.CountMode.EXACT);
         } catch (Exception e) {
+            System.err.println("[DataRepository] Unable to count " + table + ": " + e.getMessage());
             return 0;
         }
     }
@@ -1108,7 +1581,7 @@ public class DataRepository {
     private StudentProgress fetchStudentProgressRecord(String email) {
         String encoded = URLEncoder.encode(email, StandardCharsets.UTF_8);
         String query = "user_email=eq." + encoded + "&limit=1";
-        List<StudentProgress> matches = mapTable("student_progress", query, this::toStudentProgress);
+        List<StudentProgress> matches = mapTable("student_progress", STUDENT_PROGRESS_COLUMNS, query, ModelAdapters.STUDENT_PROGRESS);
         return matches.isEmpty() ? null : matches.get(0);
     }
 
@@ -1119,7 +1592,7 @@ public class DataRepository {
         String encoded = URLEncoder.encode(user.getEmail().toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
         String query = "user_email=eq." + encoded + "&order=completed_at.desc";
         String token = user.getAccessToken();
-        return mapTable("lesson_completions", query, this::toLessonCompletion, token);
+        return mapTable("lesson_completions", LESSON_COMPLETION_COLUMNS, query, ModelAdapters.LESSON_COMPLETION, token);
     }
 
     public List<LessonCompletion> fetchLessonCompletionsByEmail(String userEmail) {
@@ -1128,7 +1601,7 @@ public class DataRepository {
         }
         String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
         String query = "user_email=eq." + encoded + "&order=completed_at.desc";
-        return mapTable("lesson_completions", query, this::toLessonCompletion, getSafeToken());
+        return mapTable("lesson_completions", LESSON_COMPLETION_COLUMNS, query, ModelAdapters.LESSON_COMPLETION, getSafeToken());
     }
 
 
@@ -1137,9 +1610,8 @@ public class DataRepository {
             return List.of();
         }
         String encoded = URLEncoder.encode(user.getEmail().toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "user_email=eq." + encoded + "&order=created_at.desc";
-        String token = user.getAccessToken();
-        return mapTable("quiz_attempts", query, this::toQuizAttempt, token);
+        return syncTable("quiz_attempts", QUIZ_ATTEMPT_COLUMNS, "user_email=eq." + encoded, "created_at", null,
+                ModelAdapters.QUIZ_ATTEMPT, user.getAccessToken());
     }
 
     public List<QuizAttempt> fetchQuizAttemptsByEmail(String userEmail) {
@@ -1147,26 +1619,23 @@ public class DataRepository {
             return List.of();
         }
         String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "user_email=eq." + encoded + "&order=created_at.desc";
-        return mapTable("quiz_attempts", query, this::toQuizAttempt, getSafeToken());
+        return syncTable("quiz_attempts", QUIZ_ATTEMPT_COLUMNS, "user_email=eq." + encoded, "created_at", null,
+                ModelAdapters.QUIZ_ATTEMPT, getSafeToken());
     }
 
     private void cacheLessonCompletion(LessonCompletion completion) {
         if (completion == null) {
             return;
         }
-        List<LessonCompletion> updated = new ArrayList<>(lessonCompletionCache != null ? lessonCompletionCache : List.of());
-        updated.add(completion);
-        lessonCompletionCache = List.copyOf(updated);
+        lessonCompletionCache.put(completion);
+        completionsByLesson.add(completion);
     }
 
     private void cacheQuizAttempt(QuizAttempt attempt) {
         if (attempt == null) {
             return;
         }
-        List<QuizAttempt> updated = new ArrayList<>(quizAttemptCache != null ? quizAttemptCache : List.of());
-        updated.add(attempt);
-        quizAttemptCache = List.copyOf(updated);
+        quizAttemptCache.put(attempt);
     }
 
     private List<WalletEntry> fetchWalletFromSupabase(User user) {
@@ -1174,38 +1643,23 @@ public class DataRepository {
             return List.of();
         }
         String encodedEmail = URLEncoder.encode(user.getEmail().toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "owner_email=eq." + encodedEmail + "&order=entry_date.desc";
-        return mapTable("wallet_entries", query, this::toWalletEntry, user.getAccessToken());
+        return syncTable("wallet_entries", WALLET_ENTRY_COLUMNS, "owner_email=eq." + encodedEmail, "entry_date", null,
+                ModelAdapters.WALLET_ENTRY, user.getAccessToken());
     }
 
     private WalletEntry toWalletEntry(JsonObject json) {
-        WalletEntryType type = WalletEntryType.fromString(safeString(json, "entry_type", "expense"));
-        return new WalletEntry(
-                type,
-                safeString(json, "category", "General"),
-                safeDouble(json, "amount", 0),
-                safeString(json, "note", ""),
-                safeDate(json, "entry_date", LocalDate.now())
-        );
+        return ModelAdapters.WALLET_ENTRY.fromJsonTree(json);
     }
 
     private BudgetGoal toBudgetGoal(JsonObject json) {
-        return new BudgetGoal(
-                safeString(json, "id", ""),
-                safeString(json, "user_email", "").toLowerCase(Locale.ROOT),
-                safeDouble(json, "current_budget", 0),
-                safeDouble(json, "target_savings", 0),
-                safeDateTime(json, "updated_at", LocalDateTime.now())
-        );
+        return ModelAdapters.BUDGET_GOAL.fromJsonTree(json);
     }
 
     private void cacheBudgetGoal(BudgetGoal goal) {
         if (goal == null) {
             return;
         }
-        Map<String, BudgetGoal> updated = new HashMap<>(budgetGoalCache != null ? budgetGoalCache : Map.of());
-        updated.put(goal.getUserEmail().toLowerCase(Locale.ROOT), goal);
-        budgetGoalCache = Map.copyOf(updated);
+        budgetGoalCache.put(goal);
     }
 
     private String safeString(JsonObject json, String key, String fallback) {
@@ -1235,71 +1689,19 @@ public class DataRepository {
         return fallback;
     }
 
-    private Double safeNullableDouble(JsonObject json, String key) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            try {
-                return json.get(key).getAsDouble();
-            } catch (Exception ignored) {
-            }
-        }
-        return null;
-    }
-
-    private long safeLong(JsonObject json, String key, long fallback) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            try {
-                return json.get(key).getAsLong();
-            } catch (Exception ignored) {
-            }
-        }
-        return fallback;
-    }
-
-    private String stringifyElement(JsonElement element) {
-        if (element == null || element.isJsonNull()) {
-            return "";
-        }
-        if (element.isJsonPrimitive()) {
-            return element.getAsJsonPrimitive().getAsString();
-        }
-        return element.toString();
+    private String keyForUser(User user) {
+        return user.getEmail() + "|" + user.getRole().name();
     }
 
-    private List<String> safeStringList(JsonObject json, String key) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            JsonElement element = json.get(key);
-            if (element.isJsonArray()) {
-                List<String> values = new ArrayList<>();
-                for (JsonElement entry : element.getAsJsonArray()) {
-                    if (!entry.isJsonNull()) {
-                        values.add(entry.getAsString());
-                    }
-                }
-                return values;
-            }
-            String raw = element.getAsString();
-            if (!raw.isBlank()) {
-                return List.of(raw.split(","));
-            }
-        }
-        return List.of();
+    private void invalidateReadCaches() {
+        progressReads.invalidateAll();
+        alertReads.invalidateAll();
+        applicationReads.invalidateAll();
+        walletReads.invalidateAll();
     }
 
-    private LocalDate safeDate(JsonObject json, String key, LocalDate fallback) {
-        if (json.has(key) && !json.get(key).isJsonNull()) {
-            String raw = json.get(key).getAsString();
-            if (!raw.isBlank()) {
-                try {
-                    return LocalDate.parse(raw);
-                } catch (DateTimeParseException ignored) {
-                }
-            }
-        }
-        return fallback;
-    }
-
-    private String keyForUser(User user) {
-        return user.getEmail() + "|" + user.getRole().name();
+    private static long rowWeight(List<?> rows) {
+        return rows.size() + 1L;
     }
 
 
@@ -1317,7 +1719,7 @@ public class DataRepository {
         logStudentActivity(user, "job_application_event", activityData);
 
         // 2. Increment employment applications in StudentProgress
-        StudentProgress progress = getStudentProgress(user.getEmail());
+        StudentProgress progress = refreshStudentProgress(user.getEmail());
         if (progress != null) {
             StudentProgress updated = new StudentProgress(
                     progress.getStudentName(),
@@ -1352,9 +1754,9 @@ public class DataRepository {
         payload.addProperty("activity_type", activityType);
         payload.add("activity_data", activityData != null ? activityData : new JsonObject());
         try {
-            // Using a simple insert; if we want it to be "instant" we could run it on the same thread 
-            // but the user wants it to be recorded *before* the external link opens.
-            safeInsertRecord("student_activity_logs", null, payload, user.getAccessToken());
+            // Buffered and written in the background so UI actions never wait on analytics
+            analyticsWrites.add("student_activity_logs", payload, user.getAccessToken(), "Activity: " + activityType);
+            applicationReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
         } catch (Exception e) {
             System.err.println("[DataRepository] Unable to log student activity: " + e.getMessage());
         }
@@ -1367,30 +1769,32 @@ public class DataRepository {
     public void checkAndLogStudentAlerts(User user) {
         if (user == null || user.getEmail() == null) return;
         try {
+            // The counts below must include activity that is still buffered
+            analyticsWrites.flush();
             String email = user.getEmail().toLowerCase(java.util.Locale.ROOT);
 
             // Test 38: Low job activity alert
-            List<JobApplication> apps = fetchJobApplications(email);
-            List<String> savedJobIds = fetchFavoriteJobIds(user);
-            if (apps.size() < 2 && savedJobIds.size() < 2) {
+            int applications = countJobApplications(email);
+            Set<String> savedJobIds = fetchFavoriteJobIds(user);
+            if (applications < 2 && savedJobIds.size() < 2) {
                 JsonObject meta = new JsonObject();
-                meta.addProperty("applications", apps.size());
+                meta.addProperty("applications", applications);
                 meta.addProperty("bookmarks", savedJobIds.size());
                 logAlert(user, "Low Job Activity",
-                    "Student has few job applications (" + apps.size() + ") and bookmarks (" + savedJobIds.size() + "). Encourage exploration.",
+                    "Student has few job applications (" + applications + ") and bookmarks (" + savedJobIds.size() + "). Encourage exploration.",
                     "info", meta);
             }
 
             // Test 39: Low quiz scores or missing modules alert
             List<QuizAttempt> attempts = fetchQuizAttemptsByEmail(email);
             List<Lesson> lessons = getLessons();
-            List<LessonCompletion> completions = fetchLessonCompletionsByEmail(email);
+            int completedModules = countLessonCompletions(email);
 
             double avgScore = attempts.stream()
                     .mapToDouble(a -> (double) a.getScore() / Math.max(a.getMaxScore(), 1) * 100)
                     .average().orElse(100.0); // Default 100 if no attempts yet
 
-            double completionRate = lessons.isEmpty() ? 1.0 : (double) completions.size() / lessons.size();
+            double completionRate = lessons.isEmpty() ? 1.0 : (double) completedModules / lessons.size();
 
             if (avgScore < 50.0 && !attempts.isEmpty()) {
                 JsonObject meta = new JsonObject();
@@ -1403,10 +1807,10 @@ public class DataRepository {
 
             if (completionRate < 0.30 && !lessons.isEmpty()) {
                 JsonObject meta = new JsonObject();
-                meta.addProperty("modules_completed", completions.size());
+                meta.addProperty("modules_completed", completedModules);
                 meta.addProperty("total_modules", lessons.size());
                 logAlert(user, "Missing Modules",
-                    "Student has completed only " + completions.size() + " of " + lessons.size() + " modules. Encourage engagement.",
+                    "Student has completed only " + completedModules + " of " + lessons.size() + " modules. Encourage engagement.",
                     "warning", meta);
             }
         } catch (Exception e) {
@@ -1425,16 +1829,24 @@ public class DataRepository {
         payload.addProperty("message", message);
         payload.add("metadata", metadata != null ? metadata : new JsonObject());
         try {
-            safeInsertRecord("alerts", null, payload, user.getAccessToken());
+            analyticsWrites.add("alerts", payload, user.getAccessToken(), "Alert: " + category);
+            alertReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
+            progressReads.invalidate(user.getEmail().toLowerCase(Locale.ROOT));
         } catch (Exception e) {
             System.err.println("[DataRepository] Unable to log alert: " + e.getMessage());
         }
     }
 
     public List<JobApplication> fetchJobApplications(String userEmail) {
-        String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "user_email=eq." + encoded + "&activity_type=eq.job_application_event&order=created_at.desc";
-        return mapTable("student_activity_logs", query, this::toJobApplicationFromLog, getSafeToken());
+        String normalized = userEmail.toLowerCase(Locale.ROOT);
+        return applicationReads.get(normalized, () -> loadJobApplications(normalized));
+    }
+
+    private List<JobApplication> loadJobApplications(String normalized) {
+        String encoded = URLEncoder.encode(normalized, StandardCharsets.UTF_8);
+        String filter = "user_email=eq." + encoded + "&activity_type=eq.job_application_event";
+        return syncTable("student_activity_logs", ACTIVITY_LOG_COLUMNS, filter, "created_at", null,
+                ModelAdapters.JOB_APPLICATION_LOG, getSafeToken());
     }
 
     public List<StudentActivity> fetchStudentActivities(String userEmail) {
@@ -1442,93 +1854,67 @@ public class DataRepository {
             return Collections.emptyList();
         }
         String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "user_email=eq." + encoded + "&order=created_at.desc&limit=50";
-        return mapTable("student_activity_logs", query, this::toStudentActivity, getSafeToken());
+        return syncTable("student_activity_logs", ACTIVITY_LOG_COLUMNS, "user_email=eq." + encoded, "created_at", 50,
+                ModelAdapters.STUDENT_ACTIVITY, getSafeToken());
     }
 
     public List<Alert> fetchAlerts(String userEmail) {
         if (userEmail == null || userEmail.isBlank()) {
             return Collections.emptyList();
         }
-        String encoded = URLEncoder.encode(userEmail.toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-        String query = "user_email=eq." + encoded + "&order=created_at.desc";
-        return mapTable("alerts", query, this::toAlert, getSafeToken());
+        String normalized = userEmail.toLowerCase(Locale.ROOT);
+        return alertReads.get(normalized, () -> loadAlerts(normalized));
+    }
+
+    private List<Alert> loadAlerts(String normalized) {
+        String encoded = URLEncoder.encode(normalized, StandardCharsets.UTF_8);
+        return syncTable("alerts", ALERT_COLUMNS, "user_email=eq." + encoded, "created_at", null,
+                ModelAdapters.ALERT, getSafeToken());
     }
 
     public List<Alert> fetchAllAlerts() {
         // Fetch all alerts
-        List<Alert> allAlerts = mapTable("alerts", "order=created_at.desc&limit=100", this::toAlert, getSafeToken());
+        List<Alert> allAlerts = syncTable("alerts", ALERT_COLUMNS, "", "created_at", 100, ModelAdapters.ALERT, getSafeToken());
         
         // Filter out the ones read by this specific educator
         User currentUser = getCurrentUser();
         if (currentUser != null && currentUser.getRole() == UserRole.EDUCATOR) {
             String encodedEmail = URLEncoder.encode(currentUser.getEmail().toLowerCase(Locale.ROOT), StandardCharsets.UTF_8);
-            String readQuery = "select=alert_id&educator_email=eq." + encodedEmail;
+            String readQuery = "educator_email=eq." + encodedEmail;
             
             try {
-                JsonArray readData = supabaseClient.fetchTable("educator_alert_reads", readQuery, getSafeToken());
-                if (readData != null && !readData.isEmpty()) {
-                    List<String> readIds = new ArrayList<>();
-                    for (JsonElement e : readData) {
-                        readIds.add(e.getAsJsonObject().get("alert_id").getAsString());
-                    }
-                    
-                    return allAlerts.stream()
-                        .filter(a -> !readIds.contains(a.getId()))
-                        .collect(Collectors.toList());
+                JsonArray readData = supabaseClient.fetchTable("educator_alert_reads", List.of("alert_id"), readQuery, getSafeToken());
+                List<String> readIds = new ArrayList<>(readData.size());
+                for (JsonElement e : readData) {
+                    readIds.add(e.getAsJsonObject().get("alert_id").getAsString());
                 }
+                readAlertIdsCache.load(readIds);
             } catch (Exception e) {
+                // Keep filtering with the IDs we already know, including ones marked read this session
                 System.err.println("[DataRepository] Failed to filter read alerts: " + e.getMessage());
             }
+
+            Set<String> readIds = readAlertIdsCache.keys();
+            if (!readIds.isEmpty()) {
+                return allAlerts.stream()
+                    .filter(a -> !readIds.contains(a.getId()))
+                    .collect(Collectors.toList());
+            }
         }
         
         return allAlerts;
     }
 
     private JobApplication toJobApplicationFromLog(JsonObject json) {
-        JsonObject data = json.has("activity_data") ? json.getAsJsonObject("activity_data") : new JsonObject();
-        return new JobApplication(
-                safeString(json, "id", ""),
-                safeString(data, "job_id", ""),
-                "Submitted", // Activity logs represent point-in-time events
-                safeDateTime(json, "created_at", LocalDateTime.now())
-        );
+        return ModelAdapters.JOB_APPLICATION_LOG.fromJsonTree(json);
     }
 
     private StudentActivity toStudentActivity(JsonObject json) {
-        JsonObject data = json.has("activity_data") && json.get("activity_data").isJsonObject()
-                ? json.getAsJsonObject("activity_data")
-                : new JsonObject();
-        Map<String, String> details = new LinkedHashMap<>();
-        for (Map.Entry<String, JsonElement> entry : data.entrySet()) {
-            details.put(entry.getKey(), stringifyElement(entry.getValue()));
-        }
-        return new StudentActivity(
-                safeString(json, "id", ""),
-                safeString(json, "activity_type", ""),
-                details,
-                safeDateTime(json, "created_at", LocalDateTime.now())
-        );
+        return ModelAdapters.STUDENT_ACTIVITY.fromJsonTree(json);
     }
 
     private Alert toAlert(JsonObject json) {
-        JsonObject data = json.has("metadata") && json.get("metadata").isJsonObject()
-                ? json.getAsJsonObject("metadata")
-                : new JsonObject();
-        Map<String, String> details = new LinkedHashMap<>();
-        for (Map.Entry<String, JsonElement> entry : data.entrySet()) {
-            details.put(entry.getKey(), stringifyElement(entry.getValue()));
-        }
-        return new Alert(
-                safeString(json, "id", ""),
-                safeString(json, "user_email", ""),
-                safeString(json, "category", ""),
-                safeString(json, "severity", "info"),
-                safeString(json, "message", ""),
-                details,
-                safeDateTime(json, "created_at", LocalDateTime.now()),
-                safeInt(json, "read", 0) == 1
-        );
+        return ModelAdapters.ALERT.fromJsonTree(json);
     }
 
     public void markAlertAsReadForEducator(User educator, String alertId) {
@@ -1539,7 +1925,8 @@ public class DataRepository {
         payload.addProperty("alert_id", alertId);
 
         try {
-            safeInsertRecord("educator_alert_reads", null, payload, getSafeToken());
+            journaledInsert("educator_alert_reads", null, payload, getSafeToken(), "Alert read");
+            readAlertIdsCache.put(alertId);
         } catch (Exception e) {
             System.err.println("[DataRepository] Failed to mark alert as read for educator: " + e.getMessage());
         }
@@ -1554,7 +1941,8 @@ public class DataRepository {
         
         try {
             // Use update instead of upsert to avoid constraint violations on missing rows
-            safeUpdateRecord("alerts", "id=eq." + alertId, payload, getSafeToken());
+            journaledUpdate("alerts", "id=eq." + alertId, payload, getSafeToken(), "Alert read");
+            alertReads.invalidateAll();
         } catch (Exception e) {
             System.err.println("[DataRepository] Failed to mark alert as read: " + e.getMessage());
         }
@@ -1563,6 +1951,16 @@ public class DataRepository {
         if (progress == null || progress.getUserEmail() == null) {
             return false;
         }
+        // Upsert based on user_email
+        JsonArray inserted = safeInsertRecord("student_progress", "on_conflict=user_email", studentProgressPayload(progress), getSafeToken());
+        boolean saved = inserted != null && !inserted.isEmpty();
+        if (saved) {
+            progressReads.put(progress.getUserEmail().toLowerCase(Locale.ROOT), progress);
+        }
+        return saved;
+    }
+
+    private JsonObject studentProgressPayload(StudentProgress progress) {
         JsonObject payload = new JsonObject();
         payload.addProperty("user_email", progress.getUserEmail().toLowerCase(Locale.ROOT));
         payload.addProperty("student_name", progress.getStudentName());
@@ -1576,17 +1974,15 @@ public class DataRepository {
         payload.addProperty("job_saves", progress.getJobSaves());
         payload.addProperty("wallet_savings", progress.getWalletSavings());
         payload.addProperty("alerts", progress.getAlerts());
-
-        // Upsert based on user_email
-        JsonArray inserted = safeInsertRecord("student_progress", "on_conflict=user_email", payload, getSafeToken());
-        return inserted != null && !inserted.isEmpty();
+        return payload;
     }
+
     public void syncStudentProgress(User user) {
         if (user == null || user.getEmail() == null) return;
         
         List<QuizAttempt> attempts = fetchQuizAttempts(user);
         List<LessonCompletion> completions = fetchLessonCompletions(user);
-        StudentProgress current = getStudentProgress(user.getEmail());
+        StudentProgress current = refreshStudentProgress(user.getEmail());
         
         if (current == null) {
             current = new StudentProgress(user.getName(), user.getEmail(), 0, getLessons().size(), 0, 0, 0, 0, 0, 0, 0, 0);
@@ -1621,9 +2017,9 @@ public class DataRepository {
         if (updateStudentProgress(updated)) {
             // Refresh cache from server safely
             try {
-                List<StudentProgress> refreshed = mapTable("student_progress", null, this::toStudentProgress);
+                List<StudentProgress> refreshed = mapTablePaged("student_progress", STUDENT_PROGRESS_COLUMNS, this::toStudentProgress);
                 if (refreshed != null && !refreshed.isEmpty()) {
-                    studentProgressCache = refreshed;
+                    studentProgressCache.load(refreshed);
                 }
             } catch (Exception ignored) {}
         }
@@ -1631,11 +2027,98 @@ public class DataRepository {
 
     private void cacheStudentProgress(StudentProgress progress) {
         if (progress == null || progress.getUserEmail() == null) return;
-        List<StudentProgress> list = new ArrayList<>(studentProgressCache != null ? studentProgressCache : List.of());
-        String email = progress.getUserEmail().toLowerCase(Locale.ROOT);
-        list.removeIf(p -> email.equals(p.getUserEmail().toLowerCase(Locale.ROOT)));
-        list.add(progress);
-        studentProgressCache = List.copyOf(list);
+        progressReads.put(progress.getUserEmail().toLowerCase(Locale.ROOT), progress);
+        studentProgressCache.put(progress);
+    }
+
+    private void cacheStudentProgress(Collection<StudentProgress> progressList) {
+        if (progressList == null || progressList.isEmpty()) return;
+        studentProgressCache.putAll(progressList);
+    }
+
+    private static String progressKey(StudentProgress progress) {
+        return progress.getUserEmail() != null ? progress.getUserEmail().toLowerCase(Locale.ROOT) : null;
+    }
+
+    // Rows echoed by a queued offline write already carry their final id; the fallbacks cover older rows
+    private static String completionKey(LessonCompletion completion) {
+        return completion.getId() != null ? completion.getId() : completion.getLessonId() + "@" + completion.getCompletedAt();
+    }
+
+    private static String attemptKey(QuizAttempt attempt) {
+        return attempt.getId() != null ? attempt.getId() : attempt.getQuizId() + "@" + attempt.getCreatedAt();
+    }
+
+    /**
+     * Inserts a user-owned row, or journals it when Supabase is unreachable (or earlier writes are still
+     * queued, to keep their order). A queued insert answers with the row as it will be stored, so callers
+     * can update their caches straight away.
+     */
+    private JsonArray journaledInsert(String table, String queryParams, JsonObject payload, String token, String description) {
+        if (offlineJournal == null) {
+            return safeInsertRecord(table, queryParams, payload, token);
+        }
+        OfflineSyncService.Operation operation =
+                OfflineSyncService.Operation.insert(table, queryParams, payload, token != null, description);
+        if (!offlineJournal.shouldQueue()) {
+            try {
+                return supabaseClient.insertRecord(table, queryParams, operation.getPayload(), token);
+            } catch (Exception e) {
+                if (!OfflineSyncService.isConnectivityFailure(e)) {
+                    System.err.println("[DataRepository] Error inserting into " + table + ": " + e.getMessage());
+                    return null;
+                }
+                offlineJournal.setOfflineMode(true);
+            }
+        }
+        offlineJournal.queueOperation(operation);
+        JsonObject echo = operation.getPayload().getAsJsonObject();
+        if (!echo.has("created_at")) {
+            echo.addProperty("created_at", operation.getCreatedAt());
+        }
+        JsonArray queued = new JsonArray();
+        queued.add(echo);
+        return queued;
+    }
+
+    private void journaledUpdate(String table, String queryParams, JsonObject payload, String token, String description) {
+        if (offlineJournal == null) {
+            safeUpdateRecord(table, queryParams, payload, token);
+            return;
+        }
+        OfflineSyncService.Operation operation =
+                OfflineSyncService.Operation.update(table, queryParams, payload, token != null, description);
+        sendOrQueue(operation, () -> supabaseClient.updateRecord(table, queryParams, payload, token));
+    }
+
+    /**
+     * @return false when the server rejected the delete; queued deletes count as done
+     */
+    private boolean journaledDelete(String table, String queryParams, String token, String description) {
+        if (offlineJournal == null) {
+            supabaseClient.deleteRecord(table, queryParams, token);
+            return true;
+        }
+        OfflineSyncService.Operation operation =
+                OfflineSyncService.Operation.delete(table, queryParams, token != null, description);
+        return sendOrQueue(operation, () -> supabaseClient.deleteRecord(table, queryParams, token));
+    }
+
+    private boolean sendOrQueue(OfflineSyncService.Operation operation, Runnable send) {
+        if (!offlineJournal.shouldQueue()) {
+            try {
+                send.run();
+                return true;
+            } catch (Exception e) {
+                if (!OfflineSyncService.isConnectivityFailure(e)) {
+                    System.err.println("[DataRepository] Error writing " + operation.getTable() + ": " + e.getMessage());
+                    return false;
+                }
+                offlineJournal.setOfflineMode(true);
+            }
+        }
+        offlineJournal.queueOperation(operation);
+        return true;
     }
 
     private JsonArray safeInsertRecord(String table, String queryParams, JsonElement payload, String token) {
@@ -0,0 +1,241 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps append-mostly, per-user tables in sync by downloading only rows whose {@code updated_at}
+ * is at or past the newest value already held for that table and filter.
+ *
+ * <p>Each scope (table plus filter) keeps an immutable snapshot of its rows, keyed by {@code id} and
+ * ordered newest first. Changed rows are merged over the snapshot, which is then replaced as a whole.
+ * Deletes leave no trace in a delta, so every delta also compares the server's row count with the
+ * snapshot and reloads on a mismatch, and each scope is fully reconciled once
+ * {@code reconcileInterval} has passed. Syncs of the same scope run one at a time, so concurrent
+ * callers share one full load instead of each starting their own.
+ */
+class DeltaSyncEngine {
+    private static final String KEY_COLUMN = "id";
+    private static final String WATERMARK_COLUMN = "updated_at";
+
+    private final SupabaseClient client;
+    private final Duration reconcileInterval;
+    private final Map<String, Slot> scopes = new ConcurrentHashMap<>();
+
+    DeltaSyncEngine(SupabaseClient client, Duration reconcileInterval) {
+        this.client = client;
+        this.reconcileInterval = reconcileInterval;
+    }
+
+    /**
+     * Returns the rows of {@code table} matching {@code filter}, newest {@code orderColumn} first and
+     * capped at {@code limit} when it is non-null. Failures propagate so callers can fall back to a
+     * plain read, for example while the {@code updated_at} migration has not been applied.
+     */
+    @SuppressWarnings("unchecked")
+    <T> List<T> sync(String table,
+                     List<String> columns,
+                     String filter,
+                     String orderColumn,
+                     Integer limit,
+                     RowReader<T> adapter,
+                     String bearerToken) {
+        String key = table + "?" + filter + "&order=" + orderColumn + "&limit=" + limit;
+        List<String> projection = withColumns(columns, KEY_COLUMN, WATERMARK_COLUMN, orderColumn);
+        Slot slot = scopes.computeIfAbsent(key, ignored -> new Slot());
+        Scope<T> scope;
+        synchronized (slot) {
+            scope = (Scope<T>) slot.scope;
+            if (scope == null || scope.watermark == null
+                    || Duration.between(scope.reconciledAt, Instant.now()).compareTo(reconcileInterval) >= 0) {
+                scope = fullLoad(table, projection, filter, orderColumn, limit, adapter, bearerToken);
+            } else {
+                scope = applyDelta(scope, table, projection, filter, orderColumn, limit, adapter, bearerToken);
+            }
+            slot.scope = scope;
+        }
+        List<T> values = new ArrayList<>(scope.rows.size());
+        for (Row<T> row : scope.rows) {
+            values.add(row.value);
+        }
+        return List.copyOf(values);
+    }
+
+    /**
+     * Forgets every watermark, e.g. when a different user signs in.
+     */
+    void reset() {
+        scopes.clear();
+    }
+
+    private <T> Scope<T> fullLoad(String table,
+                                  List<String> projection,
+                                  String filter,
+                                  String orderColumn,
+                                  Integer limit,
+                                  RowReader<T> adapter,
+                                  String bearerToken) {
+        String query = join(filter, "order=" + orderColumn + ".desc", limit != null ? "limit=" + limit : null);
+        JsonArray data = client.fetchTable(table, projection, query, bearerToken);
+        List<Row<T>> rows = new ArrayList<>();
+        String watermark = null;
+        for (JsonElement element : data) {
+            Row<T> row = toRow(element, orderColumn, adapter);
+            if (row != null) {
+                rows.add(row);
+                watermark = max(watermark, row.watermark);
+            }
+        }
+        return new Scope<>(List.copyOf(rows), watermark, Instant.now());
+    }
+
+    private <T> Scope<T> applyDelta(Scope<T> scope,
+                                    String table,
+                                    List<String> projection,
+                                    String filter,
+                                    String orderColumn,
+                                    Integer limit,
+                                    RowReader<T> adapter,
+                                    String bearerToken) {
+        // gte rather than gt: rows committed later with the same timestamp must not be skipped
+        String query = join(filter,
+                WATERMARK_COLUMN + "=gte." + URLEncoder.encode(scope.watermark, StandardCharsets.UTF_8),
+                "order=" + WATERMARK_COLUMN + ".asc");
+        JsonArray delta = client.fetchTable(table, projection, query, bearerToken);
+
+        Map<String, Row<T>> merged = new LinkedHashMap<>();
+        for (Row<T> row : scope.rows) {
+            merged.put(row.id, row);
+        }
+        String watermark = scope.watermark;
+        for (JsonElement element : delta) {
+            Row<T> row = toRow(element, orderColumn, adapter);
+            if (row != null) {
+                merged.put(row.id, row);
+                watermark = max(watermark, row.watermark);
+            }
+        }
+        List<Row<T>> rows = new ArrayList<>(merged.values());
+        rows.sort(Comparator.comparing((Row<T> row) -> row.sortKey, Comparator.nullsLast(Comparator.reverseOrder())));
+        if (limit != null && rows.size() > limit) {
+            rows = rows.subList(0, limit);
+        }
+
+        String countFilter = filter;
+        long cached = rows.size();
+        String boundary = rows.isEmpty() ? null : rows.get(rows.size() - 1).sortKey;
+        boolean windowed = limit != null && rows.size() >= limit && boundary != null;
+        if (windowed) {
+            // Only the newest rows are held, so a delete among them would not change min(count, limit);
+            // count just the rows strictly newer than the oldest one held instead
+            countFilter = join(filter, orderColumn + "=gt." + URLEncoder.encode(boundary, StandardCharsets.UTF_8));
+            cached = rows.stream().filter(row -> row.sortKey != null && row.sortKey.compareTo(boundary) > 0).count();
+        }
+        long serverCount = client.countRows(table, countFilter, bearerToken, SupabaseClient.CountMode.EXACT);
+        long expected = !windowed && limit != null ? Math.min(serverCount, limit) : serverCount;
+        if (expected != cached) {
+            System.out.println("[DeltaSyncEngine] " + table + " row count drifted (" + cached + " cached, "
+                    + expected + " on server); reconciling");
+            return fullLoad(table, projection, filter, orderColumn, limit, adapter, bearerToken);
+        }
+        return new Scope<>(List.copyOf(rows), watermark, scope.reconciledAt);
+    }
+
+    private static <T> Row<T> toRow(JsonElement element, String orderColumn, RowReader<T> adapter) {
+        if (!element.isJsonObject()) {
+            return null;
+        }
+        JsonObject json = element.getAsJsonObject();
+        T value = adapter.fromJsonTree(json);
+        if (value == null) {
+            return null;
+        }
+        String id = raw(json, KEY_COLUMN);
+        return new Row<>(id != null ? id : UUID.randomUUID().toString(), raw(json, orderColumn), raw(json, WATERMARK_COLUMN), value);
+    }
+
+    private static String raw(JsonObject json, String key) {
+        JsonElement value = json.get(key);
+        return value != null && value.isJsonPrimitive() ? value.getAsString() : null;
+    }
+
+    /**
+     * PostgREST renders timestamps in one fixed ISO format and offset, so they compare as strings.
+     */
+    private static String max(String current, String candidate) {
+        if (candidate == null) {
+            return current;
+        }
+        return current == null || candidate.compareTo(current) > 0 ? candidate : current;
+    }
+
+    private static String join(String... params) {
+        StringBuilder query = new StringBuilder();
+        for (String param : params) {
+            if (param == null || param.isBlank()) {
+                continue;
+            }
+            if (query.length() > 0) {
+                query.append("&");
+            }
+            query.append(param);
+        }
+        return query.toString();
+    }
+
+    private static List<String> withColumns(List<String> columns, String... required) {
+        List<String> projected = new ArrayList<>(columns);
+        for (String column : required) {
+            if (!projected.contains(column)) {
+                projected.add(column);
+            }
+        }
+        return projected;
+    }
+
+    /**
+     * Holds one scope's current snapshot; its monitor serializes syncs of that scope.
+     */
+    private static final class Slot {
+        private Scope<?> scope;
+    }
+
+    private static final class Scope<T> {
+        private final List<Row<T>> rows;
+        private final String watermark;
+        private final Instant reconciledAt;
+
+        private Scope(List<Row<T>> rows, String watermark, Instant reconciledAt) {
+            this.rows = rows;
+            this.watermark = watermark;
+            this.reconciledAt = reconciledAt;
+        }
+    }
+
+    private static final class Row<T> {
+        private final String id;
+        private final String sortKey;
+        private final String watermark;
+        private final T value;
+
+        private Row(String id, String sortKey, String watermark, T value) {
+            this.id = id;
+            this.sortKey = sortKey;
+            this.watermark = watermark;
+            this.value = value;
+        }
+    }
+}
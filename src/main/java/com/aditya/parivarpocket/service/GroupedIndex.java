@@ -0,0 +1,66 @@
+package com.aditya.parivarpocket.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Secondary index from a foreign key (quiz id, lesson id) to the cached rows that carry it, so
+ * per-item lookups while rendering cost one hash probe instead of a scan of the whole cache.
+ *
+ * <p>Built once from a full cache load with {@link #rebuild} and kept current with {@link #add}.
+ * Groups are unmodifiable lists in cache order; adding a row copies only its own group.
+ */
+final class GroupedIndex<K, V> {
+    private final Function<? super V, ? extends K> keyOf;
+    private final AtomicReference<PersistentHashMap<K, List<V>>> groups =
+            new AtomicReference<>(PersistentHashMap.empty());
+
+    GroupedIndex(Function<? super V, ? extends K> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    void rebuild(Collection<? extends V> values) {
+        Map<K, List<V>> grouped = new LinkedHashMap<>();
+        for (V value : values) {
+            K key = value != null ? keyOf.apply(value) : null;
+            if (key != null) {
+                grouped.computeIfAbsent(key, ignored -> new ArrayList<>()).add(value);
+            }
+        }
+        PersistentHashMap<K, List<V>> index = PersistentHashMap.empty();
+        for (Map.Entry<K, List<V>> entry : grouped.entrySet()) {
+            index = index.put(entry.getKey(), List.copyOf(entry.getValue()));
+        }
+        groups.set(index);
+    }
+
+    void add(V value) {
+        K key = value != null ? keyOf.apply(value) : null;
+        if (key == null) {
+            return;
+        }
+        groups.updateAndGet(index -> {
+            List<V> group = index.get(key);
+            List<V> updated = new ArrayList<>(group != null ? group.size() + 1 : 1);
+            if (group != null) {
+                updated.addAll(group);
+            }
+            updated.add(value);
+            return index.put(key, List.copyOf(updated));
+        });
+    }
+
+    List<V> get(K key) {
+        List<V> group = key != null ? groups.get().get(key) : null;
+        return group != null ? group : List.of();
+    }
+
+    boolean contains(K key) {
+        return key != null && groups.get().containsKey(key);
+    }
+}
@@ -0,0 +1,272 @@
+package com.aditya.parivarpocket.service;
+
+import com.aditya.parivarpocket.model.JobOpportunity;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Gathers listings from RapidAPI across several search queries, localities and result pages at once.
+ *
+ * <p>Every query/locality pair walks its pages in order and stops at the first empty page; the
+ * pairs themselves run concurrently. Requests are spaced to stay under {@code requestsPerSecond}
+ * and at most {@code maxConcurrent} are open at a time. Listings are deduplicated by job key and by
+ * a title/company/location fingerprint, since the same posting shows up under several queries.
+ * New listings are handed to the sink in batches as pages arrive, so callers can persist them
+ * while later pages are still loading.
+ */
+public class JobIngestionEngine {
+    private static final List<String> DEFAULT_QUERIES = List.of("jobs", "part time", "delivery", "tutor", "sales");
+    private static final List<String> DEFAULT_LOCATIONS = List.of(
+            "West Bengal, India", "Kolkata, West Bengal", "Howrah, West Bengal");
+    private static final int DEFAULT_PAGES = 2;
+    private static final double DEFAULT_REQUESTS_PER_SECOND = 5.0;
+    private static final int DEFAULT_MAX_CONCURRENT = 4;
+    private static final int DEFAULT_MAX_JOBS = 500;
+    private static final int SINK_BATCH_SIZE = 100;
+
+    private final RapidJobService source;
+    private final List<String> queries;
+    private final List<String> locations;
+    private final int pagesPerSearch;
+    private final long requestSpacingNanos;
+    private final int maxConcurrent;
+    private final int maxJobs;
+    // Waiting for a rate-limit slot happens here rather than on the caller or the common pool
+    private final ThreadPoolExecutor scheduler;
+
+    public JobIngestionEngine(RapidJobService source) {
+        this(source, DEFAULT_QUERIES, DEFAULT_LOCATIONS, DEFAULT_PAGES,
+                DEFAULT_REQUESTS_PER_SECOND, DEFAULT_MAX_CONCURRENT, DEFAULT_MAX_JOBS);
+    }
+
+    public JobIngestionEngine(RapidJobService source,
+                              List<String> queries,
+                              List<String> locations,
+                              int pagesPerSearch,
+                              double requestsPerSecond,
+                              int maxConcurrent,
+                              int maxJobs) {
+        if (requestsPerSecond <= 0 || maxConcurrent <= 0 || pagesPerSearch <= 0) {
+            throw new IllegalArgumentException("Ingestion limits must be positive");
+        }
+        this.source = source;
+        this.queries = List.copyOf(queries);
+        this.locations = List.copyOf(locations);
+        this.pagesPerSearch = pagesPerSearch;
+        this.requestSpacingNanos = (long) (TimeUnit.SECONDS.toNanos(1) / requestsPerSecond);
+        this.maxConcurrent = maxConcurrent;
+        this.maxJobs = maxJobs;
+        this.scheduler = new ThreadPoolExecutor(maxConcurrent, maxConcurrent, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "job-ingestion");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // Syncs are occasional, so idle threads exit between them
+        scheduler.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Runs one ingestion pass, blocking until every search has finished or {@code maxJobs} unique
+     * listings have been collected. {@code sink} receives each batch of new listings on a worker
+     * thread; a sink failure is logged and does not stop ingestion.
+     *
+     * @return every unique listing collected, in arrival order
+     * @throws IOException if no page could be fetched at all
+     */
+    public List<JobOpportunity> ingest(Consumer<List<JobOpportunity>> sink) throws IOException {
+        Run run = new Run(sink);
+        long start = System.nanoTime();
+        List<CompletableFuture<Void>> searches = new ArrayList<>();
+        for (String query : queries) {
+            for (String location : locations) {
+                searches.add(run.search(query, location, 0));
+            }
+        }
+        CompletableFuture.allOf(searches.toArray(new CompletableFuture<?>[0])).join();
+        run.flush();
+
+        long elapsed = (System.nanoTime() - start) / 1_000_000;
+        System.out.println("[JobIngestionEngine] " + run.collected.size() + " unique jobs from " + run.pages.get()
+                + " pages (" + run.duplicates.get() + " duplicates, " + run.failures.get() + " failed) in " + elapsed + " ms");
+        if (run.pages.get() == 0 && run.failures.get() > 0) {
+            throw new IOException("Unable to fetch jobs: all " + run.failures.get() + " requests failed");
+        }
+        synchronized (run) {
+            return List.copyOf(run.collected);
+        }
+    }
+
+    /**
+     * Fingerprint for listings that arrive without a stable key, or under a different one per query.
+     */
+    private static String fingerprint(JobOpportunity job) {
+        return (normalize(job.getTitle()) + "|" + normalize(job.getCompany()) + "|" + normalize(job.getLocation()));
+    }
+
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    /**
+     * State for one {@link #ingest} call.
+     */
+    private final class Run {
+        private final Consumer<List<JobOpportunity>> sink;
+        private final Semaphore permits = new Semaphore(maxConcurrent);
+        private final AtomicLong nextRequestAt = new AtomicLong(System.nanoTime());
+        private final Set<String> seenKeys = ConcurrentHashMap.newKeySet();
+        private final Set<String> seenFingerprints = ConcurrentHashMap.newKeySet();
+        private final List<JobOpportunity> collected = new ArrayList<>();
+        private final List<JobOpportunity> pending = new ArrayList<>();
+        private final AtomicInteger pages = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger duplicates = new AtomicInteger();
+
+        private Run(Consumer<List<JobOpportunity>> sink) {
+            this.sink = sink;
+        }
+
+        private CompletableFuture<Void> search(String query, String location, int page) {
+            if (page >= pagesPerSearch || isFull()) {
+                return CompletableFuture.completedFuture(null);
+            }
+            return CompletableFuture.supplyAsync(() -> {
+                        try {
+                            awaitTurn();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            throw new IllegalStateException("Job ingestion was interrupted", e);
+                        }
+                        try {
+                            return source.fetchPageAsync(query, location, page);
+                        } catch (RuntimeException e) {
+                            // The request never started, so nothing downstream will release the permit
+                            permits.release();
+                            throw e;
+                        }
+                    }, scheduler)
+                    .thenCompose(request -> request.whenComplete((jobs, error) -> permits.release()))
+                    .handle((jobs, error) -> {
+                        if (error != null) {
+                            failures.incrementAndGet();
+                            Throwable cause = error.getCause() != null ? error.getCause() : error;
+                            System.err.println("[JobIngestionEngine] " + query + " in " + location + " page " + page
+                                    + " failed: " + cause.getMessage());
+                            return false;
+                        }
+                        pages.incrementAndGet();
+                        accept(jobs);
+                        return !jobs.isEmpty();
+                    })
+                    .thenCompose(hasMore -> hasMore
+                            ? search(query, location, page + 1)
+                            : CompletableFuture.completedFuture(null));
+        }
+
+        /**
+         * Blocks until a concurrency permit is free and this request's slot in the rate schedule arrives.
+         */
+        private void awaitTurn() throws InterruptedException {
+            permits.acquire();
+            long slot = nextRequestAt.getAndUpdate(next -> Math.max(next, System.nanoTime()) + requestSpacingNanos);
+            long wait = Math.max(slot, System.nanoTime()) - System.nanoTime();
+            if (wait > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.sleep(wait);
+                } catch (InterruptedException e) {
+                    permits.release();
+                    throw e;
+                }
+            }
+        }
+
+        private void accept(List<JobOpportunity> jobs) {
+            List<JobOpportunity> batch = null;
+            for (JobOpportunity job : jobs) {
+                if (!isNew(job)) {
+                    duplicates.incrementAndGet();
+                    continue;
+                }
+                synchronized (this) {
+                    if (collected.size() >= maxJobs) {
+                        break;
+                    }
+                    collected.add(job);
+                    pending.add(job);
+                    if (pending.size() >= SINK_BATCH_SIZE) {
+                        batch = List.copyOf(pending);
+                        pending.clear();
+                    }
+                }
+                if (batch != null) {
+                    deliver(batch);
+                    batch = null;
+                }
+            }
+        }
+
+        private boolean isNew(JobOpportunity job) {
+            String key = job.getId();
+            boolean keyed = key != null && !isSynthetic(key);
+            if (keyed && !seenKeys.add(key)) {
+                return false;
+            }
+            return seenFingerprints.add(fingerprint(job));
+        }
+
+        private void flush() {
+            List<JobOpportunity> batch;
+            synchronized (this) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = List.copyOf(pending);
+                pending.clear();
+            }
+            deliver(batch);
+        }
+
+        private void deliver(List<JobOpportunity> batch) {
+            if (sink == null) {
+                return;
+            }
+            try {
+                sink.accept(batch);
+            } catch (RuntimeException e) {
+                System.err.println("[JobIngestionEngine] Sink rejected " + batch.size() + " jobs: " + e.getMessage());
+            }
+        }
+
+        private synchronized boolean isFull() {
+            return collected.size() >= maxJobs;
+        }
+    }
+
+    /**
+     * RapidJobService falls back to a random UUID when a hit has no key; those never repeat, so
+     * only the fingerprint can catch duplicates among them.
+     */
+    private static boolean isSynthetic(String key) {
+        try {
+            UUID.fromString(key);
+            return key.length() == 36;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
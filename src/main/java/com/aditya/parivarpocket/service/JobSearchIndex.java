@@ -0,0 +1,208 @@
+package com.aditya.parivarpocket.service;
+
+import com.aditya.parivarpocket.model.JobOpportunity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over job listings, so a search touches only the postings of the typed
+ * words instead of lower-casing and scanning every listing.
+ *
+ * <p>Title, required skills, category, company and locality are split into lower-case words, and
+ * each word keeps a posting list of the jobs it appears in, weighted by field (a title hit counts
+ * more than a locality hit). The vocabulary is sorted, so every query word also matches the words
+ * it is a prefix of, at a discount; that keeps results useful while the last word is still being
+ * typed. All query words must match. Results are ranked by total weight, then newest first.
+ *
+ * <p>{@link #addAll} replaces listings with the same id in place, so syncs update the index without
+ * a rebuild.
+ */
+final class JobSearchIndex {
+    private static final float TITLE_WEIGHT = 5f;
+    private static final float SKILL_WEIGHT = 3f;
+    private static final float CATEGORY_WEIGHT = 3f;
+    private static final float COMPANY_WEIGHT = 2f;
+    private static final float LOCALITY_WEIGHT = 1f;
+    private static final float PREFIX_DISCOUNT = 0.5f;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final NavigableMap<String, Map<String, Float>> postings = new TreeMap<>();
+    private final Map<String, Indexed> documents = new HashMap<>();
+
+    void rebuild(Collection<JobOpportunity> jobs) {
+        lock.writeLock().lock();
+        try {
+            postings.clear();
+            documents.clear();
+            for (JobOpportunity job : jobs) {
+                index(job);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void addAll(Collection<JobOpportunity> jobs) {
+        lock.writeLock().lock();
+        try {
+            for (JobOpportunity job : jobs) {
+                index(job);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Listings matching every word of {@code query}, best match first. A query with no words
+     * matches nothing.
+     */
+    List<JobOpportunity> search(String query) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            Map<String, Float> scores = null;
+            for (String word : words) {
+                Map<String, Float> matches = match(word);
+                if (scores == null) {
+                    scores = matches;
+                } else {
+                    Map<String, Float> intersection = new HashMap<>();
+                    for (Map.Entry<String, Float> entry : scores.entrySet()) {
+                        Float score = matches.get(entry.getKey());
+                        if (score != null) {
+                            intersection.put(entry.getKey(), entry.getValue() + score);
+                        }
+                    }
+                    scores = intersection;
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Map.Entry<String, Float>> ranked = new ArrayList<>(scores.entrySet());
+            ranked.sort((a, b) -> {
+                int byScore = Float.compare(b.getValue(), a.getValue());
+                if (byScore != 0) {
+                    return byScore;
+                }
+                return Long.compare(documents.get(b.getKey()).job.getPubDateTsMilli(),
+                        documents.get(a.getKey()).job.getPubDateTsMilli());
+            });
+            List<JobOpportunity> results = new ArrayList<>(ranked.size());
+            for (Map.Entry<String, Float> entry : ranked) {
+                results.add(documents.get(entry.getKey()).job);
+            }
+            return results;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best weight per job for {@code word}: exact vocabulary hits at full weight, longer words that
+     * start with it at a discount.
+     */
+    private Map<String, Float> match(String word) {
+        Map<String, Float> best = new HashMap<>();
+        for (Map.Entry<String, Map<String, Float>> term : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            float factor = term.getKey().length() == word.length() ? 1f : PREFIX_DISCOUNT;
+            for (Map.Entry<String, Float> posting : term.getValue().entrySet()) {
+                best.merge(posting.getKey(), posting.getValue() * factor, Math::max);
+            }
+        }
+        return best;
+    }
+
+    private void index(JobOpportunity job) {
+        if (job == null || job.getId() == null) {
+            return;
+        }
+        remove(job.getId());
+        Map<String, Float> terms = new HashMap<>();
+        addField(terms, job.getTitle(), TITLE_WEIGHT);
+        for (String skill : job.getRequiredSkills()) {
+            addField(terms, skill, SKILL_WEIGHT);
+        }
+        addField(terms, job.getCategory(), CATEGORY_WEIGHT);
+        addField(terms, job.getCompany(), COMPANY_WEIGHT);
+        addField(terms, job.getLocality(), LOCALITY_WEIGHT);
+        addField(terms, job.getLocation(), LOCALITY_WEIGHT);
+        for (Map.Entry<String, Float> term : terms.entrySet()) {
+            postings.computeIfAbsent(term.getKey(), ignored -> new HashMap<>()).put(job.getId(), term.getValue());
+        }
+        documents.put(job.getId(), new Indexed(job, List.copyOf(terms.keySet())));
+    }
+
+    private void remove(String id) {
+        Indexed previous = documents.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (String term : previous.terms) {
+            Map<String, Float> posting = postings.get(term);
+            if (posting != null) {
+                posting.remove(id);
+                if (posting.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+        }
+    }
+
+    private static void addField(Map<String, Float> terms, String text, float weight) {
+        for (String word : tokenize(text)) {
+            terms.merge(word, weight, Float::sum);
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return words;
+        }
+        String lower = text.toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= lower.length(); i++) {
+            boolean wordChar = i < lower.length() && Character.isLetterOrDigit(lower.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                words.add(lower.substring(start, i));
+                start = -1;
+            }
+        }
+        return words;
+    }
+
+    private static final class Indexed {
+        private final JobOpportunity job;
+        private final List<String> terms;
+
+        private Indexed(JobOpportunity job, List<String> terms) {
+            this.job = job;
+            this.terms = terms;
+        }
+    }
+}
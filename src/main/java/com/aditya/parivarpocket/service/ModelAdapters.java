@@ -0,0 +1,596 @@
+package com.aditya.parivarpocket.service;
+
+import com.aditya.parivarpocket.model.Alert;
+import com.aditya.parivarpocket.model.BudgetGoal;
+import com.aditya.parivarpocket.model.JobApplication;
+import com.aditya.parivarpocket.model.JobOpportunity;
+import com.aditya.parivarpocket.model.Lesson;
+import com.aditya.parivarpocket.model.LessonCompletion;
+import com.aditya.parivarpocket.model.NotificationItem;
+import com.aditya.parivarpocket.model.QuizAttempt;
+import com.aditya.parivarpocket.model.QuizDefinition;
+import com.aditya.parivarpocket.model.QuizQuestion;
+import com.aditya.parivarpocket.model.QuizResult;
+import com.aditya.parivarpocket.model.StudentActivity;
+import com.aditya.parivarpocket.model.StudentProfile;
+import com.aditya.parivarpocket.model.StudentProgress;
+import com.aditya.parivarpocket.model.WalletEntry;
+import com.aditya.parivarpocket.model.WalletEntryType;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Row readers that decode Supabase rows straight from a {@link JsonReader} into model objects,
+ * without building an intermediate {@code JsonObject} per row.
+ *
+ * <p>Every field falls back to the same default the {@code safe*} helpers in {@link DataRepository}
+ * use: missing keys, {@code null}s and values of the wrong type are ignored rather than failing the
+ * whole row. The same readers work on an in-memory tree via {@link RowReader#fromJsonTree}.
+ */
+final class ModelAdapters {
+
+    static final RowReader<Lesson> LESSON = new RowReader<>() {
+        @Override
+        public Lesson readRow(JsonReader in) throws IOException {
+            String id = "";
+            String title = "Untitled lesson";
+            String difficulty = "Beginner";
+            String description = "Details coming soon.";
+            int progressPercent = 0;
+            int quizzesCompleted = 0;
+            int quizzesTotal = 0;
+            String courseUrl = "";
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "title" -> title = nextString(in, title);
+                    case "difficulty" -> difficulty = nextString(in, difficulty);
+                    case "description" -> description = nextString(in, description);
+                    case "progress_percent" -> progressPercent = nextInt(in, progressPercent);
+                    case "quizzes_completed" -> quizzesCompleted = nextInt(in, quizzesCompleted);
+                    case "quizzes_total" -> quizzesTotal = nextInt(in, quizzesTotal);
+                    case "course_url" -> courseUrl = nextString(in, courseUrl);
+                    default -> in.skipValue();
+                }
+            }
+            return new Lesson(id, title, difficulty, description, progressPercent, quizzesCompleted, quizzesTotal, courseUrl);
+        }
+    };
+
+    static final RowReader<QuizResult> QUIZ_RESULT = new RowReader<>() {
+        @Override
+        public QuizResult readRow(JsonReader in) throws IOException {
+            String title = "Quiz";
+            int score = 0;
+            String difficulty = "Beginner";
+            int coinsAwarded = 0;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title" -> title = nextString(in, title);
+                    case "score" -> score = nextInt(in, score);
+                    case "difficulty" -> difficulty = nextString(in, difficulty);
+                    case "coins_awarded" -> coinsAwarded = nextInt(in, coinsAwarded);
+                    default -> in.skipValue();
+                }
+            }
+            return new QuizResult(title, score, difficulty, coinsAwarded);
+        }
+    };
+
+    static final RowReader<QuizDefinition> QUIZ_DEFINITION = new RowReader<>() {
+        @Override
+        public QuizDefinition readRow(JsonReader in) throws IOException {
+            String id = "";
+            String lessonId = "";
+            String title = "Quiz";
+            String difficulty = "Beginner";
+            int passingMarks = 0;
+            int totalMarks = 0;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "lesson_id" -> lessonId = nextString(in, lessonId);
+                    case "title" -> title = nextString(in, title);
+                    case "difficulty" -> difficulty = nextString(in, difficulty);
+                    case "passing_marks" -> passingMarks = nextInt(in, passingMarks);
+                    case "total_marks" -> totalMarks = nextInt(in, totalMarks);
+                    default -> in.skipValue();
+                }
+            }
+            return new QuizDefinition(id, lessonId, title, difficulty, passingMarks, totalMarks);
+        }
+    };
+
+    static final RowReader<QuizQuestion> QUIZ_QUESTION = new RowReader<>() {
+        @Override
+        public QuizQuestion readRow(JsonReader in) throws IOException {
+            String id = "";
+            String quizId = "";
+            String question = "";
+            List<String> options = List.of();
+            int correctOption = 0;
+            int points = 1;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "quiz_id" -> quizId = nextString(in, quizId);
+                    case "question" -> question = nextString(in, question);
+                    case "options" -> options = nextStringList(in);
+                    case "correct_option" -> correctOption = nextInt(in, correctOption);
+                    case "points" -> points = nextInt(in, points);
+                    default -> in.skipValue();
+                }
+            }
+            return new QuizQuestion(id, quizId, question, options, correctOption, points);
+        }
+    };
+
+    static final RowReader<QuizAttempt> QUIZ_ATTEMPT = new RowReader<>() {
+        @Override
+        public QuizAttempt readRow(JsonReader in) throws IOException {
+            String id = "";
+            String quizId = "";
+            String userEmail = "";
+            int score = 0;
+            int maxScore = 0;
+            boolean passed = false;
+            List<Integer> responses = List.of();
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "quiz_id" -> quizId = nextString(in, quizId);
+                    case "user_email" -> userEmail = nextString(in, userEmail);
+                    case "score" -> score = nextInt(in, score);
+                    case "max_score" -> maxScore = nextInt(in, maxScore);
+                    case "passed" -> passed = nextBoolean(in, passed);
+                    case "responses" -> responses = nextIntList(in);
+                    case "created_at" -> createdAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new QuizAttempt(id, quizId, userEmail, score, maxScore, passed, responses,
+                    createdAt != null ? createdAt : LocalDateTime.now());
+        }
+    };
+
+    static final RowReader<LessonCompletion> LESSON_COMPLETION = new RowReader<>() {
+        @Override
+        public LessonCompletion readRow(JsonReader in) throws IOException {
+            String id = "";
+            String lessonId = "";
+            String userEmail = "";
+            String quizAttemptId = "";
+            LocalDateTime completedAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "lesson_id" -> lessonId = nextString(in, lessonId);
+                    case "user_email" -> userEmail = nextString(in, userEmail);
+                    case "quiz_attempt_id" -> quizAttemptId = nextString(in, quizAttemptId);
+                    case "completed_at" -> completedAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new LessonCompletion(id, lessonId, userEmail, quizAttemptId,
+                    completedAt != null ? completedAt : LocalDateTime.now());
+        }
+    };
+
+    static final RowReader<JobOpportunity> JOB_OPPORTUNITY = new RowReader<>() {
+        @Override
+        public JobOpportunity readRow(JsonReader in) throws IOException {
+            String id = "";
+            String title = "Job Opportunity";
+            String company = "Partner Organisation";
+            String location = "Unknown";
+            String locality = "Unknown";
+            String jobLink = "";
+            long pubDate = 0L;
+            String relativeTime = "";
+            Double salaryMin = null;
+            Double salaryMax = null;
+            String salaryType = "";
+            String category = "General";
+            List<String> skills = List.of();
+            String workingHours = "Full-time";
+            String safetyGuidance = "Always verify employer identity.";
+            String contactInfo = "Apply via Indeed.";
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "title" -> title = nextString(in, title);
+                    case "company_name" -> company = nextString(in, company);
+                    case "location" -> location = nextString(in, location);
+                    case "locality" -> locality = nextString(in, locality);
+                    case "job_link" -> jobLink = nextString(in, jobLink);
+                    case "pub_date_ts_milli" -> pubDate = nextLong(in, pubDate);
+                    case "formatted_relative_time" -> relativeTime = nextString(in, relativeTime);
+                    case "salary_min" -> salaryMin = nextNullableDouble(in);
+                    case "salary_max" -> salaryMax = nextNullableDouble(in);
+                    case "salary_type" -> salaryType = nextString(in, salaryType);
+                    case "category" -> category = nextString(in, category);
+                    case "required_skills" -> skills = nextStringList(in);
+                    case "working_hours" -> workingHours = nextString(in, workingHours);
+                    case "safety_guidance" -> safetyGuidance = nextString(in, safetyGuidance);
+                    case "contact_info" -> contactInfo = nextString(in, contactInfo);
+                    default -> in.skipValue();
+                }
+            }
+            return new JobOpportunity(id, title, company, location, locality, jobLink, pubDate, relativeTime,
+                    salaryMin, salaryMax, salaryType, category, skills, workingHours, safetyGuidance, contactInfo);
+        }
+    };
+
+    static final RowReader<NotificationItem> NOTIFICATION = new RowReader<>() {
+        @Override
+        public NotificationItem readRow(JsonReader in) throws IOException {
+            String title = "New update";
+            String description = "";
+            String severity = "info";
+            LocalDate date = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "title" -> title = nextString(in, title);
+                    case "description" -> description = nextString(in, description);
+                    case "severity" -> severity = nextString(in, severity);
+                    case "notify_date" -> date = nextDate(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new NotificationItem(title, description, severity, date != null ? date : LocalDate.now());
+        }
+    };
+
+    static final RowReader<StudentProfile> STUDENT_PROFILE = new RowReader<>() {
+        @Override
+        public StudentProfile readRow(JsonReader in) throws IOException {
+            String id = "";
+            String email = "";
+            String role = "student";
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "email" -> email = nextString(in, email);
+                    case "role" -> role = nextString(in, role);
+                    case "created_at" -> createdAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new StudentProfile(id, email, role, createdAt);
+        }
+    };
+
+    static final RowReader<StudentProgress> STUDENT_PROGRESS = new RowReader<>() {
+        @Override
+        public StudentProgress readRow(JsonReader in) throws IOException {
+            String studentName = "Unknown Student";
+            String userEmail = "";
+            int modulesCompleted = 0;
+            int totalModules = 0;
+            int quizzesTaken = 0;
+            double averageScore = 0.0;
+            double walletHealthScore = 0.0;
+            int parivaarPoints = 0;
+            int employmentApplications = 0;
+            int jobSaves = 0;
+            int walletSavings = 0;
+            int alerts = 0;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "student_name" -> studentName = nextString(in, studentName);
+                    case "user_email" -> userEmail = nextString(in, userEmail);
+                    case "modules_completed" -> modulesCompleted = nextInt(in, modulesCompleted);
+                    case "total_modules" -> totalModules = nextInt(in, totalModules);
+                    case "quizzes_taken" -> quizzesTaken = nextInt(in, quizzesTaken);
+                    case "average_score" -> averageScore = nextDouble(in, averageScore);
+                    case "wallet_health_score" -> walletHealthScore = nextDouble(in, walletHealthScore);
+                    case "parivaar_points" -> parivaarPoints = nextInt(in, parivaarPoints);
+                    case "employment_applications" -> employmentApplications = nextInt(in, employmentApplications);
+                    case "job_saves" -> jobSaves = nextInt(in, jobSaves);
+                    case "wallet_savings" -> walletSavings = nextInt(in, walletSavings);
+                    case "alerts" -> alerts = nextInt(in, alerts);
+                    default -> in.skipValue();
+                }
+            }
+            return new StudentProgress(studentName, userEmail, modulesCompleted, totalModules, quizzesTaken,
+                    averageScore, walletHealthScore, parivaarPoints, employmentApplications, jobSaves, walletSavings, alerts);
+        }
+    };
+
+    static final RowReader<WalletEntry> WALLET_ENTRY = new RowReader<>() {
+        @Override
+        public WalletEntry readRow(JsonReader in) throws IOException {
+            String type = "expense";
+            String category = "General";
+            double amount = 0;
+            String note = "";
+            LocalDate date = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "entry_type" -> type = nextString(in, type);
+                    case "category" -> category = nextString(in, category);
+                    case "amount" -> amount = nextDouble(in, amount);
+                    case "note" -> note = nextString(in, note);
+                    case "entry_date" -> date = nextDate(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new WalletEntry(WalletEntryType.fromString(type), category, amount, note,
+                    date != null ? date : LocalDate.now());
+        }
+    };
+
+    static final RowReader<BudgetGoal> BUDGET_GOAL = new RowReader<>() {
+        @Override
+        public BudgetGoal readRow(JsonReader in) throws IOException {
+            String id = "";
+            String userEmail = "";
+            double currentBudget = 0;
+            double targetSavings = 0;
+            LocalDateTime updatedAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "user_email" -> userEmail = nextString(in, userEmail);
+                    case "current_budget" -> currentBudget = nextDouble(in, currentBudget);
+                    case "target_savings" -> targetSavings = nextDouble(in, targetSavings);
+                    case "updated_at" -> updatedAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new BudgetGoal(id, userEmail.toLowerCase(Locale.ROOT), currentBudget, targetSavings,
+                    updatedAt != null ? updatedAt : LocalDateTime.now());
+        }
+    };
+
+    static final RowReader<StudentActivity> STUDENT_ACTIVITY = new RowReader<>() {
+        @Override
+        public StudentActivity readRow(JsonReader in) throws IOException {
+            String id = "";
+            String activityType = "";
+            Map<String, String> details = Map.of();
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "activity_type" -> activityType = nextString(in, activityType);
+                    case "activity_data" -> details = nextFlatObject(in);
+                    case "created_at" -> createdAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            return new StudentActivity(id, activityType, new LinkedHashMap<>(details),
+                    createdAt != null ? createdAt : LocalDateTime.now());
+        }
+    };
+
+    /**
+     * Activity log rows of type {@code job_application_event}, surfaced as applications.
+     */
+    static final RowReader<JobApplication> JOB_APPLICATION_LOG = new RowReader<>() {
+        @Override
+        public JobApplication readRow(JsonReader in) throws IOException {
+            String id = "";
+            String jobId = "";
+            LocalDateTime createdAt = null;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "activity_data" -> jobId = nextFlatObject(in).getOrDefault("job_id", "");
+                    case "created_at" -> createdAt = nextDateTime(in, null);
+                    default -> in.skipValue();
+                }
+            }
+            // Activity logs represent point-in-time events
+            return new JobApplication(id, jobId, "Submitted", createdAt != null ? createdAt : LocalDateTime.now());
+        }
+    };
+
+    static final RowReader<Alert> ALERT = new RowReader<>() {
+        @Override
+        public Alert readRow(JsonReader in) throws IOException {
+            String id = "";
+            String userEmail = "";
+            String category = "";
+            String severity = "info";
+            String message = "";
+            Map<String, String> metadata = Map.of();
+            LocalDateTime createdAt = null;
+            int read = 0;
+            while (in.hasNext()) {
+                switch (in.nextName()) {
+                    case "id" -> id = nextString(in, id);
+                    case "user_email" -> userEmail = nextString(in, userEmail);
+                    case "category" -> category = nextString(in, category);
+                    case "severity" -> severity = nextString(in, severity);
+                    case "message" -> message = nextString(in, message);
+                    case "metadata" -> metadata = nextFlatObject(in);
+                    case "created_at" -> createdAt = nextDateTime(in, null);
+                    case "read" -> read = nextInt(in, read);
+                    default -> in.skipValue();
+                }
+            }
+            return new Alert(id, userEmail, category, severity, message, new LinkedHashMap<>(metadata),
+                    createdAt != null ? createdAt : LocalDateTime.now(), read == 1);
+        }
+    };
+
+    private ModelAdapters() {
+    }
+
+    private static String nextString(JsonReader in, String fallback) throws IOException {
+        switch (in.peek()) {
+            case STRING:
+            case NUMBER:
+                return in.nextString();
+            case BOOLEAN:
+                return String.valueOf(in.nextBoolean());
+            default:
+                in.skipValue();
+                return fallback;
+        }
+    }
+
+    private static int nextInt(JsonReader in, int fallback) throws IOException {
+        BigDecimal value = nextNumber(in);
+        return value != null ? value.intValue() : fallback;
+    }
+
+    private static long nextLong(JsonReader in, long fallback) throws IOException {
+        BigDecimal value = nextNumber(in);
+        return value != null ? value.longValue() : fallback;
+    }
+
+    private static double nextDouble(JsonReader in, double fallback) throws IOException {
+        Double value = nextNullableDouble(in);
+        return value != null ? value : fallback;
+    }
+
+    private static Double nextNullableDouble(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            in.skipValue();
+            return null;
+        }
+        try {
+            return Double.parseDouble(in.nextString());
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    /**
+     * Numbers are accepted as-is (fractions truncate, as {@code getAsInt()} does); numeric strings are
+     * accepted only when they are whole numbers, matching Gson's primitive coercion.
+     */
+    private static BigDecimal nextNumber(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token != JsonToken.NUMBER && token != JsonToken.STRING) {
+            in.skipValue();
+            return null;
+        }
+        String raw = in.nextString();
+        try {
+            return token == JsonToken.NUMBER ? new BigDecimal(raw) : new BigDecimal(Long.parseLong(raw.trim()));
+        } catch (NumberFormatException ignored) {
+            return null;
+        }
+    }
+
+    private static boolean nextBoolean(JsonReader in, boolean fallback) throws IOException {
+        switch (in.peek()) {
+            case BOOLEAN:
+                return in.nextBoolean();
+            case STRING:
+            case NUMBER:
+                return Boolean.parseBoolean(in.nextString());
+            default:
+                in.skipValue();
+                return fallback;
+        }
+    }
+
+    private static LocalDateTime nextDateTime(JsonReader in, LocalDateTime fallback) throws IOException {
+        String raw = nextString(in, null);
+        if (raw == null) {
+            return fallback;
+        }
+        try {
+            return LocalDateTime.parse(raw);
+        } catch (Exception ignored) {
+            return fallback;
+        }
+    }
+
+    private static LocalDate nextDate(JsonReader in, LocalDate fallback) throws IOException {
+        String raw = nextString(in, null);
+        if (raw == null || raw.isBlank()) {
+            return fallback;
+        }
+        try {
+            return LocalDate.parse(raw);
+        } catch (Exception ignored) {
+            return fallback;
+        }
+    }
+
+    /**
+     * Reads a JSON array of strings, or a comma separated string, like {@code safeStringList}.
+     */
+    private static List<String> nextStringList(JsonReader in) throws IOException {
+        JsonToken token = in.peek();
+        if (token == JsonToken.BEGIN_ARRAY) {
+            List<String> values = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                String value = nextString(in, null);
+                if (value != null) {
+                    values.add(value);
+                }
+            }
+            in.endArray();
+            return values;
+        }
+        String raw = nextString(in, "");
+        return raw.isBlank() ? List.of() : List.of(raw.split(","));
+    }
+
+    private static List<Integer> nextIntList(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_ARRAY) {
+            in.skipValue();
+            return List.of();
+        }
+        List<Integer> values = new ArrayList<>();
+        in.beginArray();
+        while (in.hasNext()) {
+            BigDecimal value = nextNumber(in);
+            if (value != null) {
+                values.add(value.intValue());
+            }
+        }
+        in.endArray();
+        return List.copyOf(values);
+    }
+
+    /**
+     * Flattens a JSON object into string values; nested objects and arrays keep their JSON text.
+     */
+    private static Map<String, String> nextFlatObject(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return Map.of();
+        }
+        Map<String, String> values = new LinkedHashMap<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            String key = in.nextName();
+            switch (in.peek()) {
+                case BEGIN_OBJECT, BEGIN_ARRAY -> {
+                    JsonElement nested = JsonParser.parseReader(in);
+                    values.put(key, nested.toString());
+                }
+                case NULL -> {
+                    in.nextNull();
+                    values.put(key, "");
+                }
+                default -> values.put(key, nextString(in, ""));
+            }
+        }
+        in.endObject();
+        return values;
+    }
+}
@@ -1,31 +1,524 @@
 package com.aditya.parivarpocket.service;
 
-import java.util.LinkedList;
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Write-ahead journal for Supabase writes that could not reach the server.
+ *
+ * <p>Each {@link Operation} is appended as one JSON line to {@code ~/.parivaarpocket/offline-journal.jsonl}
+ * before the caller moves on, and an acknowledgement line is appended once it has been replayed, so
+ * nothing is lost across restarts. Appends are forced to disk in small batches rather than one
+ * {@code fsync} per write. Replay runs on a background thread, in journal order, grouping consecutive
+ * inserts into one array insert and retrying with backoff while the network stays down.
+ */
+public class OfflineSyncService implements AutoCloseable {
+    private static final String JOURNAL_FILE = "offline-journal.jsonl";
+    private static final long FORCE_INTERVAL_MS = 250;
+    private static final int FORCE_EVERY_APPENDS = 32;
+    private static final long REPLAY_INTERVAL_SECONDS = 30;
+    private static final int MAX_BATCH_SIZE = 100;
+    private static final int MAX_ATTEMPTS_PER_PASS = 3;
+    private static final long RETRY_BACKOFF_MS = 500;
+    private static final int MAX_REJECTED_PASSES = 5;
+
+    public enum Method { INSERT, UPDATE, DELETE }
+
+    /**
+     * One journaled write. Inserts carry their idempotency key as the row {@code id}, so replaying an
+     * insert the server already applied updates that row instead of duplicating it.
+     */
+    public static final class Operation {
+        private final String idempotencyKey;
+        private final String table;
+        private final Method method;
+        private final String query;
+        private final JsonElement payload;
+        private final boolean authenticated;
+        private final String description;
+        private final String createdAt;
+
+        private Operation(String idempotencyKey, String table, Method method, String query, JsonElement payload,
+                          boolean authenticated, String description, String createdAt) {
+            this.idempotencyKey = idempotencyKey;
+            this.table = table;
+            this.method = method;
+            this.query = query;
+            this.payload = payload;
+            this.authenticated = authenticated;
+            this.description = description;
+            this.createdAt = createdAt;
+        }
+
+        public static Operation insert(String table, String query, JsonObject payload, boolean authenticated, String description) {
+            String key = UUID.randomUUID().toString();
+            JsonObject row = payload.deepCopy();
+            // Upserts on another unique column must not have their primary key rewritten
+            boolean keyedByConflictColumn = query != null && query.contains("on_conflict=");
+            if (!keyedByConflictColumn && !row.has("id")) {
+                row.addProperty("id", key);
+            }
+            return new Operation(key, table, Method.INSERT, query, row, authenticated, description, LocalDateTime.now().toString());
+        }
+
+        public static Operation update(String table, String query, JsonObject payload, boolean authenticated, String description) {
+            return new Operation(UUID.randomUUID().toString(), table, Method.UPDATE, query, payload.deepCopy(),
+                    authenticated, description, LocalDateTime.now().toString());
+        }
+
+        public static Operation delete(String table, String query, boolean authenticated, String description) {
+            return new Operation(UUID.randomUUID().toString(), table, Method.DELETE, query, JsonNull.INSTANCE,
+                    authenticated, description, LocalDateTime.now().toString());
+        }
+
+        public String getIdempotencyKey() {
+            return idempotencyKey;
+        }
+
+        public String getTable() {
+            return table;
+        }
+
+        public Method getMethod() {
+            return method;
+        }
+
+        public String getQuery() {
+            return query;
+        }
+
+        public JsonElement getPayload() {
+            return payload.deepCopy();
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getCreatedAt() {
+            return createdAt;
+        }
 
-public class OfflineSyncService {
-    private final List<String> pendingOperations = new LinkedList<>();
-    private boolean offlineMode = false;
+        private JsonObject toJson() {
+            JsonObject json = new JsonObject();
+            json.addProperty("key", idempotencyKey);
+            json.addProperty("table", table);
+            json.addProperty("method", method.name());
+            json.addProperty("query", query);
+            json.add("payload", payload);
+            json.addProperty("authenticated", authenticated);
+            json.addProperty("description", description);
+            json.addProperty("created_at", createdAt);
+            return json;
+        }
+
+        private static Operation fromJson(JsonObject json) {
+            JsonElement query = json.get("query");
+            JsonElement description = json.get("description");
+            return new Operation(
+                    json.get("key").getAsString(),
+                    json.get("table").getAsString(),
+                    Method.valueOf(json.get("method").getAsString()),
+                    query != null && !query.isJsonNull() ? query.getAsString() : null,
+                    json.has("payload") ? json.get("payload") : JsonNull.INSTANCE,
+                    json.has("authenticated") && json.get("authenticated").getAsBoolean(),
+                    description != null && !description.isJsonNull() ? description.getAsString() : json.get("table").getAsString(),
+                    json.has("created_at") ? json.get("created_at").getAsString() : LocalDateTime.now().toString());
+        }
+    }
+
+    private final Path journalFile;
+    private final Gson gson = new GsonBuilder().serializeNulls().disableHtmlEscaping().create();
+    private final Map<String, Operation> pending = new LinkedHashMap<>();
+    private final Map<String, Integer> rejectedPasses = new HashMap<>();
+    private final ScheduledExecutorService worker = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "offline-journal");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private FileChannel channel;
+    private int unforcedAppends;
+    private volatile boolean offlineMode = false;
+    private volatile SupabaseClient client;
+    private volatile Supplier<String> tokenSupplier = () -> null;
+    private CompletableFuture<Integer> replayInFlight;
+
+    public OfflineSyncService() {
+        this(Path.of(System.getProperty("user.home"), ".parivaarpocket", JOURNAL_FILE));
+    }
+
+    public OfflineSyncService(Path journalFile) {
+        this.journalFile = journalFile;
+        try {
+            Files.createDirectories(journalFile.getParent());
+            load();
+            channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to open offline journal " + journalFile, e);
+        }
+        worker.scheduleWithFixedDelay(this::forceIfDirty, FORCE_INTERVAL_MS, FORCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        worker.scheduleWithFixedDelay(() -> {
+            if (client != null && getPendingCount() > 0) {
+                syncNowAsync();
+            }
+        }, REPLAY_INTERVAL_SECONDS, REPLAY_INTERVAL_SECONDS, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Connects the journal to the client used for replay. Replayed operations that were recorded with a
+     * user session use whatever token {@code tokenSupplier} returns at replay time, so no token is ever
+     * written to disk.
+     */
+    public void bind(SupabaseClient client, Supplier<String> tokenSupplier) {
+        this.client = client;
+        this.tokenSupplier = tokenSupplier != null ? tokenSupplier : () -> null;
+        if (getPendingCount() > 0) {
+            syncNowAsync();
+        }
+    }
 
     public void setOfflineMode(boolean offline) {
+        boolean reconnected = this.offlineMode && !offline;
         this.offlineMode = offline;
+        if (reconnected && client != null) {
+            syncNowAsync();
+        }
     }
 
     public boolean isOfflineMode() {
         return offlineMode;
     }
 
-    public void queueOperation(String description) {
-        pendingOperations.add(description);
+    /**
+     * New writes must queue behind anything still pending so they reach the server in order. The
+     * order is global rather than per table: a row may reference one in another table (a lesson
+     * completion pointing at a quiz attempt) that is still waiting in the journal.
+     */
+    public boolean shouldQueue() {
+        return offlineMode || getPendingCount() > 0;
+    }
+
+    public synchronized void queueOperation(Operation operation) {
+        appendLine(entry("op", operation.toJson()));
+        pending.put(operation.getIdempotencyKey(), operation);
     }
 
+    /**
+     * Replays every pending operation on the calling thread and returns how many reached the server.
+     */
     public int syncNow() {
-        int synced = pendingOperations.size();
-        pendingOperations.clear();
+        return syncNowAsync().join();
+    }
+
+    /**
+     * Starts a replay pass in the background, or returns the pass already running.
+     */
+    public synchronized CompletableFuture<Integer> syncNowAsync() {
+        if (replayInFlight != null && !replayInFlight.isDone()) {
+            return replayInFlight;
+        }
+        replayInFlight = CompletableFuture.supplyAsync(this::replay, worker);
+        return replayInFlight;
+    }
+
+    public synchronized List<String> getPendingOperations() {
+        List<String> descriptions = new ArrayList<>(pending.size());
+        for (Operation operation : pending.values()) {
+            descriptions.add(operation.getDescription());
+        }
+        return List.copyOf(descriptions);
+    }
+
+    public synchronized int getPendingCount() {
+        return pending.size();
+    }
+
+    /**
+     * Connectivity failures are worth journaling and retrying; HTTP errors from the server are not.
+     */
+    public static boolean isConnectivityFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void close() {
+        worker.shutdown();
+        synchronized (this) {
+            try {
+                if (channel != null && channel.isOpen()) {
+                    channel.force(false);
+                    channel.close();
+                }
+            } catch (IOException e) {
+                System.err.println("[OfflineSyncService] Unable to close journal: " + e.getMessage());
+            }
+        }
+    }
+
+    private int replay() {
+        SupabaseClient target = client;
+        if (target == null) {
+            return 0;
+        }
+        int synced = 0;
+        boolean changed = false;
+        while (true) {
+            List<Operation> batch = nextBatch();
+            if (batch.isEmpty()) {
+                break;
+            }
+            Exception failure = sendWithRetries(target, batch);
+            if (failure == null) {
+                acknowledge(batch);
+                synced += batch.size();
+                changed = true;
+                continue;
+            }
+            if (isConnectivityFailure(failure)) {
+                offlineMode = true;
+                System.err.println("[OfflineSyncService] Still offline, " + getPendingCount() + " operations kept: " + failure.getMessage());
+                break;
+            }
+            if (!rejectBatch(batch, failure)) {
+                // Everything behind it may depend on it, so nothing overtakes a refused write
+                break;
+            }
+            changed = true;
+        }
+        if (synced > 0) {
+            offlineMode = false;
+            System.out.println("[OfflineSyncService] Replayed " + synced + " queued operations");
+        }
+        if (changed) {
+            compact();
+        }
         return synced;
     }
 
-    public List<String> getPendingOperations() {
-        return List.copyOf(pendingOperations);
+    /**
+     * Consecutive inserts into the same table with the same columns become one array insert; every
+     * other operation is replayed on its own so ordering is preserved exactly.
+     */
+    private synchronized List<Operation> nextBatch() {
+        List<Operation> batch = new ArrayList<>();
+        for (Operation operation : pending.values()) {
+            if (batch.isEmpty()) {
+                batch.add(operation);
+                if (operation.getMethod() != Method.INSERT) {
+                    break;
+                }
+                continue;
+            }
+            Operation first = batch.get(0);
+            boolean sameShape = operation.getMethod() == Method.INSERT
+                    && operation.table.equals(first.table)
+                    && Objects.equals(operation.query, first.query)
+                    && operation.authenticated == first.authenticated
+                    && keysOf(operation.payload).equals(keysOf(first.payload));
+            if (!sameShape || batch.size() >= MAX_BATCH_SIZE) {
+                break;
+            }
+            batch.add(operation);
+        }
+        return batch;
+    }
+
+    private Exception sendWithRetries(SupabaseClient target, List<Operation> batch) {
+        Exception last = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_PASS; attempt++) {
+            try {
+                send(target, batch);
+                return null;
+            } catch (Exception e) {
+                last = e;
+                if (!isConnectivityFailure(e)) {
+                    return e;
+                }
+                try {
+                    Thread.sleep(RETRY_BACKOFF_MS << attempt);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return e;
+                }
+            }
+        }
+        return last;
+    }
+
+    private void send(SupabaseClient target, List<Operation> batch) {
+        Operation first = batch.get(0);
+        String token = first.authenticated ? tokenSupplier.get() : null;
+        switch (first.getMethod()) {
+            case INSERT -> {
+                JsonArray rows = new JsonArray();
+                for (Operation operation : batch) {
+                    rows.add(operation.payload);
+                }
+                target.insertRecord(first.table, first.query, rows, token);
+            }
+            case UPDATE -> target.updateRecord(first.table, first.query, first.payload, token);
+            case DELETE -> target.deleteRecord(first.table, first.query, token);
+        }
+    }
+
+    /**
+     * The server refused the batch. A refusal that can never succeed (bad payload, constraint
+     * violation) drops the batch at once. Anything else stops the pass and is retried on later
+     * passes in case it was transient (an expired session, say), and dropped once it has been
+     * refused too often so it cannot hold back the queue for good. Returns whether the batch was
+     * dropped.
+     */
+    private boolean rejectBatch(List<Operation> batch, Exception failure) {
+        Operation first = batch.get(0);
+        SupabaseHttpException http = SupabaseHttpException.find(failure);
+        if (http != null && http.isPermanent()) {
+            System.err.println("[OfflineSyncService] Dropping " + batch.size() + " " + first.table
+                    + " operations rejected with HTTP " + http.getStatusCode() + ": " + failure.getMessage());
+            acknowledge(batch);
+            return true;
+        }
+        int passes = rejectedPasses.merge(first.getIdempotencyKey(), 1, Integer::sum);
+        if (passes < MAX_REJECTED_PASSES) {
+            System.err.println("[OfflineSyncService] " + first.table + " " + first.getMethod()
+                    + " rejected (attempt " + passes + "): " + failure.getMessage());
+            return false;
+        }
+        System.err.println("[OfflineSyncService] Dropping " + batch.size() + " " + first.table
+                + " operations after repeated rejection: " + failure.getMessage());
+        acknowledge(batch);
+        return true;
+    }
+
+    private synchronized void acknowledge(List<Operation> batch) {
+        for (Operation operation : batch) {
+            appendLine(entry("ack", gson.toJsonTree(operation.getIdempotencyKey())));
+            pending.remove(operation.getIdempotencyKey());
+            rejectedPasses.remove(operation.getIdempotencyKey());
+        }
+    }
+
+    private void load() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return;
+        }
+        for (String line : Files.readAllLines(journalFile, StandardCharsets.UTF_8)) {
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                if (record.has("op")) {
+                    Operation operation = Operation.fromJson(record.getAsJsonObject("op"));
+                    pending.put(operation.getIdempotencyKey(), operation);
+                } else if (record.has("ack")) {
+                    pending.remove(record.get("ack").getAsString());
+                }
+            } catch (RuntimeException e) {
+                // A torn final line from a crash mid-append; everything before it is intact
+                System.err.println("[OfflineSyncService] Skipping unreadable journal line: " + e.getMessage());
+            }
+        }
+        if (!pending.isEmpty()) {
+            System.out.println("[OfflineSyncService] Recovered " + pending.size() + " queued operations");
+        }
+    }
+
+    private JsonObject entry(String type, JsonElement value) {
+        JsonObject record = new JsonObject();
+        record.add(type, value);
+        return record;
+    }
+
+    private synchronized void appendLine(JsonObject record) {
+        byte[] line = (gson.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8);
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            if (++unforcedAppends >= FORCE_EVERY_APPENDS) {
+                channel.force(false);
+                unforcedAppends = 0;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to append to offline journal", e);
+        }
+    }
+
+    private synchronized void forceIfDirty() {
+        if (unforcedAppends == 0 || channel == null || !channel.isOpen()) {
+            return;
+        }
+        try {
+            channel.force(false);
+            unforcedAppends = 0;
+        } catch (IOException e) {
+            System.err.println("[OfflineSyncService] Unable to sync journal: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Rewrites the journal with only the still-pending operations, so acknowledged entries do not
+     * accumulate. The new file replaces the old one atomically.
+     */
+    private synchronized void compact() {
+        try {
+            Path compacted = journalFile.resolveSibling(JOURNAL_FILE + ".tmp");
+            StringBuilder content = new StringBuilder();
+            for (Operation operation : pending.values()) {
+                content.append(gson.toJson(entry("op", operation.toJson()))).append("\n");
+            }
+            try (FileChannel out = FileChannel.open(compacted, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            channel.close();
+            Files.move(compacted, journalFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+            unforcedAppends = 0;
+        } catch (IOException e) {
+            System.err.println("[OfflineSyncService] Unable to compact journal: " + e.getMessage());
+        }
+    }
+
+    private static Set<String> keysOf(JsonElement payload) {
+        return payload != null && payload.isJsonObject() ? payload.getAsJsonObject().keySet() : Set.of();
     }
 }
@@ -0,0 +1,150 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Walks a table in fixed-size pages using keyset pagination ({@code order=id.asc&id=gt.<last id>}).
+ *
+ * <p>Pages are pulled on demand, so at most the page being consumed and one look-ahead page are
+ * held in memory. As soon as a page arrives the next one is requested in the background, letting
+ * callers process rows while the following page is still in flight. Keyset cursors stay correct
+ * when rows are inserted during the scan, unlike offset-based paging.
+ */
+class PagedTableIterator implements Iterator<JsonObject>, AutoCloseable {
+    private static final String KEY_COLUMN = "id";
+
+    private final SupabaseClient client;
+    private final String table;
+    private final List<String> columns;
+    private final String queryParams;
+    private final String bearerToken;
+    private final int pageSize;
+
+    private Iterator<JsonElement> current = List.<JsonElement>of().iterator();
+    private CompletableFuture<JsonArray> nextPage;
+    private boolean started;
+    private JsonObject buffered;
+
+    PagedTableIterator(SupabaseClient client,
+                       String table,
+                       List<String> columns,
+                       String queryParams,
+                       String bearerToken,
+                       int pageSize) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        this.client = client;
+        this.table = table;
+        this.columns = withKeyColumn(columns);
+        this.queryParams = queryParams;
+        this.bearerToken = bearerToken;
+        this.pageSize = pageSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!started) {
+            started = true;
+            nextPage = requestPage(null);
+        }
+        while (buffered == null) {
+            if (current.hasNext()) {
+                JsonElement element = current.next();
+                if (element.isJsonObject()) {
+                    buffered = element.getAsJsonObject();
+                }
+                continue;
+            }
+            if (nextPage == null) {
+                return false;
+            }
+            JsonArray page = awaitPage();
+            // A short page is the last one; otherwise start fetching the next page right away
+            String lastKey = page.size() < pageSize ? null : lastKey(page);
+            nextPage = lastKey != null ? requestPage(lastKey) : null;
+            current = page.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public JsonObject next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        JsonObject row = buffered;
+        buffered = null;
+        return row;
+    }
+
+    /**
+     * Cancels any look-ahead request still in flight.
+     */
+    @Override
+    public void close() {
+        started = true;
+        if (nextPage != null) {
+            nextPage.cancel(true);
+            nextPage = null;
+        }
+        current = List.<JsonElement>of().iterator();
+        buffered = null;
+    }
+
+    private CompletableFuture<JsonArray> requestPage(String afterKey) {
+        StringBuilder query = new StringBuilder("order=" + KEY_COLUMN + ".asc&limit=" + pageSize);
+        if (afterKey != null) {
+            query.append("&").append(KEY_COLUMN).append("=gt.")
+                    .append(URLEncoder.encode(afterKey, StandardCharsets.UTF_8));
+        }
+        if (queryParams != null && !queryParams.isBlank()) {
+            query.append("&").append(queryParams);
+        }
+        return client.fetchTableAsync(table, columns, query.toString(), bearerToken, null);
+    }
+
+    private JsonArray awaitPage() {
+        try {
+            return nextPage.join();
+        } catch (CancellationException e) {
+            return new JsonArray();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Paged fetch of " + table + " failed", cause);
+        }
+    }
+
+    private static String lastKey(JsonArray page) {
+        JsonElement last = page.get(page.size() - 1);
+        if (!last.isJsonObject()) {
+            return null;
+        }
+        JsonElement key = last.getAsJsonObject().get(KEY_COLUMN);
+        return key != null && !key.isJsonNull() ? key.getAsString() : null;
+    }
+
+    private static List<String> withKeyColumn(List<String> columns) {
+        if (columns == null || columns.isEmpty() || columns.contains("*") || columns.contains(KEY_COLUMN)) {
+            return columns;
+        }
+        List<String> projected = new ArrayList<>(columns);
+        projected.add(KEY_COLUMN);
+        return projected;
+    }
+}
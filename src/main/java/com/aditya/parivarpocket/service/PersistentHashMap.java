@@ -0,0 +1,289 @@
+package com.aditya.parivarpocket.service;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable hash array mapped trie. {@link #put} and {@link #remove} return a new map that shares
+ * every untouched branch with this one, so an update copies at most one 32-slot node per level
+ * (seven levels for 32-bit hashes) instead of the whole map. Keys and values must be non-null.
+ */
+final class PersistentHashMap<K, V> {
+    private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(null, 0);
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+
+    private final Node root;
+    private final int size;
+
+    private PersistentHashMap(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentHashMap<K, V> empty() {
+        return (PersistentHashMap<K, V>) EMPTY;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(K key) {
+        return root == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    boolean containsKey(K key) {
+        return get(key) != null;
+    }
+
+    PersistentHashMap<K, V> put(K key, V value) {
+        Change change = new Change();
+        Node base = root != null ? root : BitmapNode.EMPTY;
+        Node updated = base.put(0, hash(key), key, value, change);
+        if (updated == root) {
+            return this;
+        }
+        return new PersistentHashMap<>(updated, change.added ? size + 1 : size);
+    }
+
+    PersistentHashMap<K, V> remove(K key) {
+        if (root == null) {
+            return this;
+        }
+        Change change = new Change();
+        Node updated = root.remove(0, hash(key), key, change);
+        if (!change.removed) {
+            return this;
+        }
+        return updated == null ? empty() : new PersistentHashMap<>(updated, size - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        if (root != null) {
+            root.forEach((BiConsumer<Object, Object>) action);
+        }
+    }
+
+    private static int hash(Object key) {
+        int h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(int hash, int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static final class Change {
+        private boolean added;
+        private boolean removed;
+    }
+
+    private interface Node {
+        Object find(int shift, int hash, Object key);
+
+        Node put(int shift, int hash, Object key, Object value, Change change);
+
+        Node remove(int shift, int hash, Object key, Change change);
+
+        void forEach(BiConsumer<Object, Object> action);
+    }
+
+    /**
+     * Up to 32 slots selected by five bits of the hash. Slots are stored as key/value pairs; a null
+     * key means the value is a child node holding every entry that shares this prefix.
+     */
+    private static final class BitmapNode implements Node {
+        private static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+        private final Object[] slots;
+
+        private BitmapNode(int bitmap, Object[] slots) {
+            this.bitmap = bitmap;
+            this.slots = slots;
+        }
+
+        private int index(int bit) {
+            return Integer.bitCount(bitmap & (bit - 1));
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+            int i = 2 * index(bit);
+            Object slotKey = slots[i];
+            Object slotValue = slots[i + 1];
+            if (slotKey == null) {
+                return ((Node) slotValue).find(shift + BITS, hash, key);
+            }
+            return key.equals(slotKey) ? slotValue : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, Change change) {
+            int bit = bit(hash, shift);
+            int i = 2 * index(bit);
+            if ((bitmap & bit) == 0) {
+                Object[] copy = new Object[slots.length + 2];
+                System.arraycopy(slots, 0, copy, 0, i);
+                copy[i] = key;
+                copy[i + 1] = value;
+                System.arraycopy(slots, i, copy, i + 2, slots.length - i);
+                change.added = true;
+                return new BitmapNode(bitmap | bit, copy);
+            }
+            Object slotKey = slots[i];
+            Object slotValue = slots[i + 1];
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).put(shift + BITS, hash, key, value, change);
+                return child == slotValue ? this : with(i, null, child);
+            }
+            if (key.equals(slotKey)) {
+                return slotValue == value ? this : with(i, slotKey, value);
+            }
+            change.added = true;
+            return with(i, null, split(shift + BITS, slotKey, slotValue, hash, key, value));
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key, Change change) {
+            int bit = bit(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+            int i = 2 * index(bit);
+            Object slotKey = slots[i];
+            Object slotValue = slots[i + 1];
+            if (slotKey == null) {
+                Node child = ((Node) slotValue).remove(shift + BITS, hash, key, change);
+                if (child == slotValue) {
+                    return this;
+                }
+                return child != null ? with(i, null, child) : without(bit, i);
+            }
+            if (!key.equals(slotKey)) {
+                return this;
+            }
+            change.removed = true;
+            return without(bit, i);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < slots.length; i += 2) {
+                if (slots[i] == null) {
+                    ((Node) slots[i + 1]).forEach(action);
+                } else {
+                    action.accept(slots[i], slots[i + 1]);
+                }
+            }
+        }
+
+        private BitmapNode with(int i, Object key, Object value) {
+            Object[] copy = slots.clone();
+            copy[i] = key;
+            copy[i + 1] = value;
+            return new BitmapNode(bitmap, copy);
+        }
+
+        private BitmapNode without(int bit, int i) {
+            if (bitmap == bit) {
+                return null;
+            }
+            Object[] copy = new Object[slots.length - 2];
+            System.arraycopy(slots, 0, copy, 0, i);
+            System.arraycopy(slots, i + 2, copy, i, slots.length - i - 2);
+            return new BitmapNode(bitmap & ~bit, copy);
+        }
+
+        private static Node split(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+            int hash1 = hash(key1);
+            if (hash1 == hash2) {
+                return new CollisionNode(hash1, new Object[]{key1, value1, key2, value2});
+            }
+            Change ignored = new Change();
+            return EMPTY.put(shift, hash1, key1, value1, ignored).put(shift, hash2, key2, value2, ignored);
+        }
+    }
+
+    /**
+     * Entries whose full 32-bit hashes are equal, searched linearly.
+     */
+    private static final class CollisionNode implements Node {
+        private final int hash;
+        private final Object[] pairs;
+
+        private CollisionNode(int hash, Object[] pairs) {
+            this.hash = hash;
+            this.pairs = pairs;
+        }
+
+        private int indexOf(Object key) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (key.equals(pairs[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        @Override
+        public Object find(int shift, int hash, Object key) {
+            int i = indexOf(key);
+            return i >= 0 ? pairs[i + 1] : null;
+        }
+
+        @Override
+        public Node put(int shift, int hash, Object key, Object value, Change change) {
+            if (hash != this.hash) {
+                // Push this bucket one level down so the new key can sit beside it
+                BitmapNode parent = new BitmapNode(bit(this.hash, shift), new Object[]{null, this});
+                return parent.put(shift, hash, key, value, change);
+            }
+            int i = indexOf(key);
+            if (i >= 0) {
+                if (pairs[i + 1] == value) {
+                    return this;
+                }
+                Object[] copy = pairs.clone();
+                copy[i + 1] = value;
+                return new CollisionNode(hash, copy);
+            }
+            Object[] copy = Arrays.copyOf(pairs, pairs.length + 2);
+            copy[pairs.length] = key;
+            copy[pairs.length + 1] = value;
+            change.added = true;
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public Node remove(int shift, int hash, Object key, Change change) {
+            int i = indexOf(key);
+            if (i < 0) {
+                return this;
+            }
+            change.removed = true;
+            if (pairs.length == 2) {
+                return null;
+            }
+            Object[] copy = new Object[pairs.length - 2];
+            System.arraycopy(pairs, 0, copy, 0, i);
+            System.arraycopy(pairs, i + 2, copy, i, pairs.length - i - 2);
+            return new CollisionNode(hash, copy);
+        }
+
+        @Override
+        public void forEach(BiConsumer<Object, Object> action) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                action.accept(pairs[i], pairs[i + 1]);
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.aditya.parivarpocket.service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Runs a batch of independent table loads concurrently on a shared executor.
+ *
+ * <p>Each stage publishes its result through its own callback as soon as it
+ * completes, so callers see caches fill in progressively instead of waiting
+ * for the slowest table. Stages that need another stage's output are chained
+ * with {@link #fetchAfter}. Wall-clock time per stage is recorded for logging.
+ * Once {@code current} turns false (a newer pipeline has started), finished
+ * stages are no longer published, so a slow old load cannot overwrite newer data.
+ */
+class PrefetchPipeline {
+    private final Executor executor;
+    private final BooleanSupplier current;
+    private final Map<String, Long> timings = new ConcurrentHashMap<>();
+    private final List<CompletableFuture<?>> stages = new ArrayList<>();
+
+    PrefetchPipeline(Executor executor, BooleanSupplier current) {
+        this.executor = executor;
+        this.current = current;
+    }
+
+    <T> CompletableFuture<T> fetch(String name, Supplier<T> loader, Consumer<T> publisher) {
+        CompletableFuture<T> stage = CompletableFuture.supplyAsync(() -> timed(name, loader), executor);
+        return register(name, stage, publisher);
+    }
+
+    <S, T> CompletableFuture<T> fetchAfter(CompletableFuture<S> dependency,
+                                           String name,
+                                           Function<S, T> loader,
+                                           Consumer<T> publisher) {
+        CompletableFuture<T> stage = dependency.thenApplyAsync(input -> timed(name, () -> loader.apply(input)), executor);
+        return register(name, stage, publisher);
+    }
+
+    /**
+     * Completes normally once every registered stage has finished. Failures are
+     * logged per stage and never abort the remaining loads.
+     */
+    CompletableFuture<Void> whenAll() {
+        return CompletableFuture.allOf(stages.toArray(new CompletableFuture<?>[0]))
+                // Individual stage failures were already reported in register()
+                .exceptionally(ignored -> null);
+    }
+
+    Map<String, Long> getTimings() {
+        return new LinkedHashMap<>(timings);
+    }
+
+    private <T> T timed(String name, Supplier<T> loader) {
+        long start = System.nanoTime();
+        try {
+            return loader.get();
+        } finally {
+            timings.put(name, (System.nanoTime() - start) / 1_000_000);
+        }
+    }
+
+    private <T> CompletableFuture<T> register(String name, CompletableFuture<T> stage, Consumer<T> publisher) {
+        CompletableFuture<T> published = stage.whenComplete((value, error) -> {
+            if (error != null) {
+                System.err.println("[PrefetchPipeline] " + name + " failed: " + error.getMessage());
+            } else if (publisher != null && current.getAsBoolean()) {
+                publisher.accept(value);
+            }
+        });
+        stages.add(published);
+        return published;
+    }
+}
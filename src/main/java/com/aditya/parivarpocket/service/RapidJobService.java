@@ -7,103 +7,142 @@ import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.ArrayList;
+import java.nio.charset.StandardCharsets;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 public class RapidJobService {
     private static final String BASE_URL = "https://indeed12.p.rapidapi.com/jobs/search";
     private static final String HOST = "indeed12.p.rapidapi.com";
     private static final String KEY = "79faf3d171mshd01253d058122d2p1c9b03jsnb2abc2fee2ad";
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(15);
 
-    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
     private final Gson gson = new Gson();
 
+    /**
+     * Fetches the first page of recent West Bengal listings. {@link JobIngestionEngine} covers more
+     * pages, queries and localities in parallel.
+     */
     public List<JobOpportunity> fetchRecentWestBengalJobs() throws IOException, InterruptedException {
-        String params = "?query=jobs&location=West%20Bengal,%20India&locality=in&start=0&sort=date";
+        try {
+            return fetchPageAsync("jobs", "West Bengal, India", 0).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Fetches one result page for {@code query} near {@code location} without blocking the caller.
+     * The body is parsed straight from the response stream and never logged.
+     */
+    CompletableFuture<List<JobOpportunity>> fetchPageAsync(String query, String location, int start) {
+        String params = "?query=" + encode(query)
+                + "&location=" + encode(location)
+                + "&locality=in&start=" + start + "&sort=date";
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(BASE_URL + params))
+                .timeout(REQUEST_TIMEOUT)
                 .header("X-RapidAPI-Host", HOST)
                 .header("x-rapidapi-key", KEY)
                 .GET()
                 .build();
-        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-        System.out.println("[RapidJobService] job fetch status=" + response.statusCode() + " body=" + response.body());
-        if (response.statusCode() >= 400) {
-            throw new IOException("Unable to fetch jobs: " + response.body());
-        }
-        JsonObject payload = gson.fromJson(response.body(), JsonObject.class);
+        return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofInputStream())
+                .thenApply(response -> {
+                    try (Reader body = new InputStreamReader(response.body(), StandardCharsets.UTF_8)) {
+                        if (response.statusCode() >= 400) {
+                            throw new CompletionException(new IOException("Unable to fetch jobs (" + response.statusCode()
+                                    + ") for " + query + " in " + location));
+                        }
+                        JsonObject payload = gson.fromJson(body, JsonObject.class);
+                        return parseHits(payload);
+                    } catch (IOException e) {
+                        throw new CompletionException(e);
+                    }
+                });
+    }
+
+    private List<JobOpportunity> parseHits(JsonObject payload) {
         JsonArray hits = payload != null && payload.has("hits") ? payload.getAsJsonArray("hits") : new JsonArray();
-        System.out.println("[RapidJobService] Received " + hits.size() + " total hits from API.");
-        List<JobOpportunity> jobs = new ArrayList<>();
-        int filteredOut = 0;
+        List<JobOpportunity> jobs = new ArrayList<>(hits.size());
         for (JsonElement element : hits) {
-            if (!element.isJsonObject()) {
-                continue;
-            }
-            JsonObject jobJson = element.getAsJsonObject();
-            String title = getAsString(jobJson, "title", "Job opportunity");
-            String location = getAsString(jobJson, "location", "West Bengal, India");
-            String company = getAsString(jobJson, "company_name", "Hiring partner");
-            String locality = getAsString(jobJson, "locality", "India");
-            String relativeTime = getAsString(jobJson, "formatted_relative_time", "");
-            
-            // Robust ID extraction
-            String jobId = getAsString(jobJson, "id", "");
-            if (jobId.isBlank()) jobId = getAsString(jobJson, "job_id", "");
-            if (jobId.isBlank()) jobId = getAsString(jobJson, "jk", "");
-            if (jobId.isBlank()) jobId = getAsString(jobJson, "job_key", "");
-            
-            if (jobId == null || jobId.isBlank()) {
-                jobId = java.util.UUID.randomUUID().toString();
-            }
-            String jobLink = deriveJobLink(jobId);
-            long pubDateTsMilli = getAsLong(jobJson, "pub_date_ts_milli", 0L);
-            JsonObject salary = jobJson.has("salary") && jobJson.get("salary").isJsonObject()
-                    ? jobJson.getAsJsonObject("salary")
-                    : null;
-            Double salaryMin = salary != null ? getAsDouble(salary, "min") : null;
-            Double salaryMax = salary != null ? getAsDouble(salary, "max") : null;
-            String salaryType = salary != null ? getAsString(salary, "type", "") : "";
-
-            String category = extractCategory(title);
-            List<String> skills = extractSkills(title);
-            String hours = extractHours(title);
-            String safety = extractSafety(title);
-            String contact = extractContact(title);
-
-            JobOpportunity job = new JobOpportunity(
-                    jobId,
-                    title,
-                    company,
-                    location,
-                    locality,
-                    jobLink,
-                    pubDateTsMilli,
-                    relativeTime,
-                    salaryMin,
-                    salaryMax,
-                    salaryType,
-                    category,
-                    skills,
-                    hours,
-                    safety,
-                    contact
-            );
-            jobs.add(job);
-            if (jobs.size() >= 50) {
-                break;
+            if (element.isJsonObject()) {
+                jobs.add(toJobOpportunity(element.getAsJsonObject()));
             }
         }
-        System.out.println("[RapidJobService] Sync complete. Kept " + jobs.size() + " jobs from API.");
         return jobs;
     }
 
+    private JobOpportunity toJobOpportunity(JsonObject jobJson) {
+        String title = getAsString(jobJson, "title", "Job opportunity");
+        String location = getAsString(jobJson, "location", "West Bengal, India");
+        String company = getAsString(jobJson, "company_name", "Hiring partner");
+        String locality = getAsString(jobJson, "locality", "India");
+        String relativeTime = getAsString(jobJson, "formatted_relative_time", "");
+
+        // Robust ID extraction
+        String jobId = getAsString(jobJson, "id", "");
+        if (jobId.isBlank()) jobId = getAsString(jobJson, "job_id", "");
+        if (jobId.isBlank()) jobId = getAsString(jobJson, "jk", "");
+        if (jobId.isBlank()) jobId = getAsString(jobJson, "job_key", "");
+
+        if (jobId == null || jobId.isBlank()) {
+            jobId = java.util.UUID.randomUUID().toString();
+        }
+        String jobLink = deriveJobLink(jobId);
+        long pubDateTsMilli = getAsLong(jobJson, "pub_date_ts_milli", 0L);
+        JsonObject salary = jobJson.has("salary") && jobJson.get("salary").isJsonObject()
+                ? jobJson.getAsJsonObject("salary")
+                : null;
+        Double salaryMin = salary != null ? getAsDouble(salary, "min") : null;
+        Double salaryMax = salary != null ? getAsDouble(salary, "max") : null;
+        String salaryType = salary != null ? getAsString(salary, "type", "") : "";
+
+        String category = extractCategory(title);
+        List<String> skills = extractSkills(title);
+        String hours = extractHours(title);
+        String safety = extractSafety(title);
+        String contact = extractContact(title);
+
+        return new JobOpportunity(
+                jobId,
+                title,
+                company,
+                location,
+                locality,
+                jobLink,
+                pubDateTsMilli,
+                relativeTime,
+                salaryMin,
+                salaryMax,
+                salaryType,
+                category,
+                skills,
+                hours,
+                safety,
+                contact
+        );
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8).replace("+", "%20");
+    }
+
     private String extractCategory(String title) {
         String t = title.toLowerCase();
         if (t.contains("tutor") || t.contains("teacher") || t.contains("faculty") || t.contains("lecturer") || t.contains("educator")) return "Tutoring";
@@ -0,0 +1,194 @@
+package com.aditya.parivarpocket.service;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded, expiring cache for per-user reads such as progress, alerts and wallet entries.
+ *
+ * <p>An entry is served as-is for {@code timeToLive}. For a further {@code staleWindow} it is still
+ * served, but a background refresh is started so the next read gets current data; after that it
+ * counts as a miss and the caller loads it. Entries are weighed with {@code weigher} and the least
+ * recently used ones are evicted once the total passes {@code maxWeight}.
+ *
+ * <p>Writes call {@link #invalidate(Object)} or {@link #put(Object, Object)}. Invalidating a key also
+ * discards loads of that key that were already running, so a read that raced a write is never
+ * cached; loads of other keys are unaffected. {@link #invalidateAll()} discards every running load.
+ */
+class ReadCache<K, V> {
+    private static final int MAX_INVALIDATION_STAMPS = 4096;
+
+    private final String name;
+    private final long timeToLiveNanos;
+    private final long staleWindowNanos;
+    private final long maxWeight;
+    private final ToLongFunction<V> weigher;
+    private final Executor refresher;
+    private final LinkedHashMap<K, Entry<V>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    // Invalidation stamps from a shared clock; a load started before its key's stamp is stale
+    private final Map<K, Long> invalidatedAt = new HashMap<>();
+    private long weight;
+    private long clock;
+    private long clearedAt;
+    private long hits;
+    private long staleHits;
+    private long misses;
+    private long refreshes;
+    private long refreshFailures;
+    private long evictions;
+
+    ReadCache(String name, Duration timeToLive, Duration staleWindow, long maxWeight,
+              ToLongFunction<V> weigher, Executor refresher) {
+        this.name = name;
+        this.timeToLiveNanos = timeToLive.toNanos();
+        this.staleWindowNanos = staleWindow.toNanos();
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.refresher = refresher;
+    }
+
+    /**
+     * Returns the cached value for {@code key}, loading it with {@code loader} on the calling thread
+     * when there is none or it is too old to serve. Loader failures propagate and are not cached.
+     */
+    V get(K key, Supplier<V> loader) {
+        long loadStarted;
+        synchronized (this) {
+            Entry<V> entry = entries.get(key);
+            long now = System.nanoTime();
+            if (entry != null) {
+                long age = now - entry.loadedAt;
+                if (age < timeToLiveNanos) {
+                    hits++;
+                    return entry.value;
+                }
+                if (age < timeToLiveNanos + staleWindowNanos) {
+                    staleHits++;
+                    if (!entry.refreshing) {
+                        entry.refreshing = true;
+                        scheduleRefresh(key, entry, loader, clock);
+                    }
+                    return entry.value;
+                }
+                remove(key);
+            }
+            misses++;
+            loadStarted = clock;
+        }
+        V value = loader.get();
+        store(key, value, loadStarted);
+        return value;
+    }
+
+    synchronized void put(K key, V value) {
+        markInvalidated(key);
+        store(key, value, clock);
+    }
+
+    synchronized void invalidate(K key) {
+        markInvalidated(key);
+        remove(key);
+    }
+
+    synchronized void invalidateAll() {
+        clearedAt = ++clock;
+        invalidatedAt.clear();
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * Hit, stale-hit, miss, refresh and eviction counts since startup, plus current size and weight.
+     */
+    synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("hits", hits);
+        stats.put("stale_hits", staleHits);
+        stats.put("misses", misses);
+        stats.put("refreshes", refreshes);
+        stats.put("refresh_failures", refreshFailures);
+        stats.put("evictions", evictions);
+        stats.put("entries", (long) entries.size());
+        stats.put("weight", weight);
+        return stats;
+    }
+
+    private void scheduleRefresh(K key, Entry<V> stale, Supplier<V> loader, long loadStarted) {
+        try {
+            refresher.execute(() -> {
+                try {
+                    V value = loader.get();
+                    synchronized (this) {
+                        refreshes++;
+                    }
+                    store(key, value, loadStarted);
+                } catch (RuntimeException e) {
+                    synchronized (this) {
+                        refreshFailures++;
+                    }
+                    System.err.println("[ReadCache] " + name + " refresh failed: " + e.getMessage());
+                } finally {
+                    stale.refreshing = false;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stale.refreshing = false;
+        }
+    }
+
+    private void markInvalidated(K key) {
+        if (invalidatedAt.size() >= MAX_INVALIDATION_STAMPS && !invalidatedAt.containsKey(key)) {
+            // Too many keys to track one by one; stale-proof every running load instead
+            clearedAt = clock + 1;
+            invalidatedAt.clear();
+        }
+        invalidatedAt.put(key, ++clock);
+    }
+
+    private synchronized void store(K key, V value, long loadStarted) {
+        if (value == null || loadStarted < clearedAt || loadStarted < invalidatedAt.getOrDefault(key, 0L)) {
+            return;
+        }
+        remove(key);
+        Entry<V> entry = new Entry<>(value, System.nanoTime(), weigher.applyAsLong(value));
+        entries.put(key, entry);
+        weight += entry.weight;
+        Iterator<Map.Entry<K, Entry<V>>> eldest = entries.entrySet().iterator();
+        while (weight > maxWeight && entries.size() > 1 && eldest.hasNext()) {
+            Map.Entry<K, Entry<V>> candidate = eldest.next();
+            if (candidate.getValue() == entry) {
+                break;
+            }
+            weight -= candidate.getValue().weight;
+            eldest.remove();
+            evictions++;
+        }
+    }
+
+    private void remove(K key) {
+        Entry<V> removed = entries.remove(key);
+        if (removed != null) {
+            weight -= removed.weight;
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long loadedAt;
+        private final long weight;
+        private volatile boolean refreshing;
+
+        private Entry(V value, long loadedAt, long weight) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+            this.weight = weight;
+        }
+    }
+}
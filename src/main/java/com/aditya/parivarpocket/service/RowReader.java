@@ -0,0 +1,52 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonElement;
+import com.google.gson.internal.bind.JsonTreeReader;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+
+/**
+ * Decodes one Supabase row from a {@link JsonReader} into a model object. Rows are only ever read;
+ * write payloads are built explicitly, so there is no encoding side.
+ */
+interface RowReader<T> {
+
+    /**
+     * Reads the fields of a row whose opening brace has already been consumed, stopping before the
+     * closing brace.
+     */
+    T readRow(JsonReader in) throws IOException;
+
+    /**
+     * Reads one row value. Anything other than an object is skipped and decodes to {@code null},
+     * so callers can drop it.
+     */
+    default T read(JsonReader in) throws IOException {
+        if (in.peek() != JsonToken.BEGIN_OBJECT) {
+            in.skipValue();
+            return null;
+        }
+        in.beginObject();
+        T row = readRow(in);
+        in.endObject();
+        return row;
+    }
+
+    /**
+     * Decodes a row that is already in memory, such as the echo of an insert or a row from a paged
+     * or grouped fetch. The tree is walked in place by Gson's tree reader, so nothing is
+     * re-serialized or re-parsed.
+     */
+    default T fromJsonTree(JsonElement json) {
+        if (json == null || !json.isJsonObject()) {
+            return null;
+        }
+        try (JsonReader in = new JsonTreeReader(json)) {
+            return read(in);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to decode row", e);
+        }
+    }
+}
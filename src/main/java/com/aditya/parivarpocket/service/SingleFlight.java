@@ -0,0 +1,90 @@
+package com.aditya.parivarpocket.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical calls into one: the first caller for a key runs the call, and anyone
+ * asking for the same key meanwhile waits for that result instead of issuing a duplicate request.
+ *
+ * <p>With a non-zero {@code freshness}, a completed result keeps being handed out for that long.
+ * Entries can be dropped early by key prefix, e.g. when a table is written to.
+ */
+class SingleFlight<V> {
+    private static final int PURGE_THRESHOLD = 256;
+
+    private final Duration freshness;
+    private final Map<String, Flight<V>> flights = new ConcurrentHashMap<>();
+
+    SingleFlight(Duration freshness) {
+        this.freshness = freshness;
+    }
+
+    V execute(String key, Supplier<V> call) {
+        while (true) {
+            Flight<V> flight = new Flight<>();
+            Flight<V> existing = flights.putIfAbsent(key, flight);
+            if (existing == null) {
+                return run(key, flight, call);
+            }
+            if (!existing.isExpired(freshness)) {
+                return await(existing.result);
+            }
+            if (flights.replace(key, existing, flight)) {
+                return run(key, flight, call);
+            }
+        }
+    }
+
+    /**
+     * Forgets every entry whose key starts with {@code prefix}, including calls still in flight: a
+     * read that started before a write may return data from before it, so later callers must not
+     * join it or reuse its result. Callers already waiting on it keep their result.
+     */
+    void invalidate(String prefix) {
+        flights.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private V run(String key, Flight<V> flight, Supplier<V> call) {
+        try {
+            V value = call.get();
+            flight.completedAt = System.nanoTime();
+            flight.result.complete(value);
+            if (freshness.isZero()) {
+                flights.remove(key, flight);
+            } else if (flights.size() > PURGE_THRESHOLD) {
+                flights.values().removeIf(other -> other.isExpired(freshness));
+            }
+            return value;
+        } catch (RuntimeException | Error e) {
+            // Failures are never cached: waiters see this one, the next caller retries
+            flights.remove(key, flight);
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> result) {
+        try {
+            return result.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    private static final class Flight<V> {
+        private final CompletableFuture<V> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        boolean isExpired(Duration freshness) {
+            return result.isDone() && System.nanoTime() - completedAt >= freshness.toNanos();
+        }
+    }
+}
@@ -0,0 +1,233 @@
+package com.aditya.parivarpocket.service;
+
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+
+/**
+ * Keyed cache of immutable snapshots that background writers update without locks.
+ *
+ * <p>Each update builds a new snapshot from the current one on a {@link PersistentHashMap}, sharing
+ * everything it does not touch, and installs it with a compare-and-set, retrying if another writer
+ * got there first. Readers never block and always see one consistent snapshot. Lookups by key are
+ * constant time; {@link #values()} keeps first-insertion order and is built at most once per snapshot.
+ *
+ * <p>A store starts out unloaded so callers can tell "not fetched yet" from "fetched, empty".
+ * Values whose key is {@code null} are not stored.
+ */
+final class SnapshotStore<K, V> {
+    private final Function<? super V, ? extends K> keyOf;
+    private final AtomicReference<Snapshot<K, V>> current = new AtomicReference<>(Snapshot.unloaded());
+
+    SnapshotStore(Function<? super V, ? extends K> keyOf) {
+        this.keyOf = keyOf;
+    }
+
+    boolean isLoaded() {
+        return current.get().loaded;
+    }
+
+    V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Slot<V> slot = current.get().entries.get(key);
+        return slot != null ? slot.value : null;
+    }
+
+    boolean contains(K key) {
+        return key != null && current.get().entries.containsKey(key);
+    }
+
+    int size() {
+        return current.get().entries.size();
+    }
+
+    /**
+     * Every value in first-insertion order, as an unmodifiable list; empty until loaded.
+     */
+    List<V> values() {
+        return current.get().values();
+    }
+
+    /**
+     * Read-only set of the current keys. The view is pinned to one snapshot, so it never changes
+     * under the caller; {@code contains} is a hash lookup and iteration follows {@link #values()}.
+     */
+    Set<K> keys() {
+        return current.get().keys();
+    }
+
+    /**
+     * Replaces the whole contents, e.g. with a fresh download, and marks the store loaded.
+     */
+    void load(Collection<? extends V> values) {
+        Snapshot<K, V> loaded = Snapshot.<K, V>empty().withAll(values, keyOf);
+        current.set(loaded);
+    }
+
+    void put(V value) {
+        if (value != null) {
+            update(snapshot -> snapshot.with(value, keyOf));
+        }
+    }
+
+    void putAll(Collection<? extends V> values) {
+        if (values != null && !values.isEmpty()) {
+            update(snapshot -> snapshot.withAll(values, keyOf));
+        }
+    }
+
+    void remove(K key) {
+        if (key != null) {
+            update(snapshot -> snapshot.without(key));
+        }
+    }
+
+    void clear() {
+        current.set(Snapshot.unloaded());
+    }
+
+    private void update(UnaryOperator<Snapshot<K, V>> change) {
+        while (true) {
+            Snapshot<K, V> before = current.get();
+            Snapshot<K, V> after = change.apply(before);
+            if (after == before || current.compareAndSet(before, after)) {
+                return;
+            }
+        }
+    }
+
+    private static final class Slot<V> {
+        private final long order;
+        private final Object key;
+        private final V value;
+
+        private Slot(long order, Object key, V value) {
+            this.order = order;
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    private static final class KeyView<K> extends AbstractSet<K> {
+        private final Snapshot<K, ?> snapshot;
+        private List<K> ordered;
+
+        private KeyView(Snapshot<K, ?> snapshot) {
+            this.snapshot = snapshot;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean contains(Object key) {
+            return key != null && snapshot.entries.containsKey((K) key);
+        }
+
+        @Override
+        public int size() {
+            return snapshot.entries.size();
+        }
+
+        @Override
+        public Iterator<K> iterator() {
+            if (ordered == null) {
+                ordered = List.copyOf(snapshot.orderedKeys());
+            }
+            return ordered.iterator();
+        }
+    }
+
+    private static final class Snapshot<K, V> {
+        private static final Snapshot<?, ?> UNLOADED = new Snapshot<>(PersistentHashMap.empty(), 0, false);
+
+        private final PersistentHashMap<K, Slot<V>> entries;
+        private final long nextOrder;
+        private final boolean loaded;
+        private volatile List<V> ordered;
+        private volatile Set<K> keys;
+
+        private Snapshot(PersistentHashMap<K, Slot<V>> entries, long nextOrder, boolean loaded) {
+            this.entries = entries;
+            this.nextOrder = nextOrder;
+            this.loaded = loaded;
+        }
+
+        @SuppressWarnings("unchecked")
+        static <K, V> Snapshot<K, V> unloaded() {
+            return (Snapshot<K, V>) UNLOADED;
+        }
+
+        static <K, V> Snapshot<K, V> empty() {
+            return new Snapshot<>(PersistentHashMap.empty(), 0, true);
+        }
+
+        Snapshot<K, V> with(V value, Function<? super V, ? extends K> keyOf) {
+            return withAll(List.of(value), keyOf);
+        }
+
+        Snapshot<K, V> withAll(Collection<? extends V> values, Function<? super V, ? extends K> keyOf) {
+            PersistentHashMap<K, Slot<V>> updated = entries;
+            long order = nextOrder;
+            for (V value : values) {
+                K key = value != null ? keyOf.apply(value) : null;
+                if (key == null) {
+                    continue;
+                }
+                Slot<V> existing = updated.get(key);
+                // A replaced value keeps its original position
+                updated = updated.put(key, new Slot<>(existing != null ? existing.order : order++, key, value));
+            }
+            return new Snapshot<>(updated, order, true);
+        }
+
+        Snapshot<K, V> without(K key) {
+            PersistentHashMap<K, Slot<V>> updated = entries.remove(key);
+            return updated == entries ? this : new Snapshot<>(updated, nextOrder, loaded);
+        }
+
+        Set<K> keys() {
+            Set<K> view = keys;
+            if (view == null) {
+                view = new KeyView<>(this);
+                keys = view;
+            }
+            return view;
+        }
+
+        @SuppressWarnings("unchecked")
+        List<K> orderedKeys() {
+            List<Slot<V>> slots = new ArrayList<>(entries.size());
+            List<K> keyList = new ArrayList<>(entries.size());
+            entries.forEach((key, slot) -> slots.add(slot));
+            slots.sort(Comparator.comparingLong(slot -> slot.order));
+            for (Slot<V> slot : slots) {
+                keyList.add((K) slot.key);
+            }
+            return keyList;
+        }
+
+        List<V> values() {
+            List<V> values = ordered;
+            if (values == null) {
+                List<Slot<V>> slots = new ArrayList<>(entries.size());
+                entries.forEach((key, slot) -> slots.add(slot));
+                slots.sort(Comparator.comparingLong(slot -> slot.order));
+                List<V> result = new ArrayList<>(slots.size());
+                for (Slot<V> slot : slots) {
+                    result.add(slot.value);
+                }
+                values = List.copyOf(result);
+                ordered = values;
+            }
+            return values;
+        }
+    }
+}
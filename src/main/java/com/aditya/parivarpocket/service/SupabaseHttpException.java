@@ -0,0 +1,56 @@
+package com.aditya.parivarpocket.service;
+
+/**
+ * Supabase answered with an HTTP error. Unlike a connectivity failure, the request reached the
+ * server, so callers can tell from the status whether repeating it could ever succeed.
+ */
+final class SupabaseHttpException extends IllegalStateException {
+    private static final long serialVersionUID = 1L;
+
+    private final int statusCode;
+    private final String body;
+
+    SupabaseHttpException(String message, int statusCode, String body) {
+        super(message);
+        this.statusCode = statusCode;
+        this.body = body != null ? body : "";
+    }
+
+    int getStatusCode() {
+        return statusCode;
+    }
+
+    String getBody() {
+        return body;
+    }
+
+    /**
+     * A 4xx that repeating cannot fix: bad payload, constraint violation, missing table. Expired
+     * sessions (401), permission checks that depend on the session (403), timeouts (408) and rate
+     * limits (429) are excluded, since a later attempt may succeed.
+     */
+    boolean isPermanent() {
+        return statusCode >= 400 && statusCode < 500
+                && statusCode != 401 && statusCode != 403 && statusCode != 408 && statusCode != 429;
+    }
+
+    /**
+     * The table or view does not exist (or is not exposed): PostgREST answers 404, with
+     * {@code 42P01} from Postgres or {@code PGRST205} from its schema cache.
+     */
+    boolean isMissingRelation() {
+        return statusCode == 404 || body.contains("42P01") || body.contains("PGRST205");
+    }
+
+    /**
+     * Finds the HTTP error behind {@code error}, which may be wrapped by a future.
+     */
+    static SupabaseHttpException find(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SupabaseHttpException) {
+                return (SupabaseHttpException) cause;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,58 @@
+package com.aditya.parivarpocket.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the last full response for a read URI together with whatever can prove it is still
+ * current: the server's {@code ETag}/{@code Last-Modified} validators, or, when PostgREST sends
+ * neither, a marker built from the table's newest {@code updated_at} and its row count.
+ *
+ * <p>Only reference tables that every role reads identically go through this cache, so entries are
+ * keyed by URI alone and survive token refreshes.
+ */
+class ValidationCache {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    Entry get(String uri) {
+        return entries.get(uri);
+    }
+
+    void put(String uri, Entry entry) {
+        entries.put(uri, entry);
+    }
+
+    static final class Entry {
+        private final byte[] body;
+        private final String etag;
+        private final String lastModified;
+        private final String probeMarker;
+
+        Entry(byte[] body, String etag, String lastModified, String probeMarker) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.probeMarker = probeMarker;
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        String getProbeMarker() {
+            return probeMarker;
+        }
+
+        boolean hasValidators() {
+            return etag != null || lastModified != null;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects fire-and-forget inserts (activity logs, alerts) and writes them in the background as one
+ * JSON-array insert per table, either when {@code window} has passed since the first buffered row or
+ * as soon as {@code maxRows} rows are waiting.
+ *
+ * <p>Rows get their id up front, so a batch that fails for lack of connectivity is handed to the
+ * offline journal and replayed without duplicates.
+ *
+ * <p>Flushes run one at a time. A table counts as pending both while its rows are buffered and
+ * while a batch of them is being written, and {@link #flush()} waits for any batch already in
+ * flight, so a reader that flushes first always sees the rows it buffered.
+ */
+class WriteBehindBuffer implements AutoCloseable {
+    private final SupabaseClient client;
+    private final Duration window;
+    private final int maxRows;
+    private final Map<BatchKey, List<OfflineSyncService.Operation>> buffers = new LinkedHashMap<>();
+    // Held for the whole of a flush, so a second flush waits until the rows in flight are written
+    private final Object flushLock = new Object();
+    private final Set<String> writingTables = new HashSet<>();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "write-behind");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicLong flushes = new AtomicLong();
+    private final AtomicLong rowsFlushed = new AtomicLong();
+    private final AtomicLong lastFlushMillis = new AtomicLong();
+    private final AtomicLong maxFlushMillis = new AtomicLong();
+    private volatile OfflineSyncService journal;
+    private int buffered;
+    private ScheduledFuture<?> scheduledFlush;
+
+    WriteBehindBuffer(SupabaseClient client, Duration window, int maxRows) {
+        this.client = client;
+        this.window = window;
+        this.maxRows = maxRows;
+    }
+
+    void setJournal(OfflineSyncService journal) {
+        this.journal = journal;
+    }
+
+    synchronized void add(String table, JsonObject row, String bearerToken, String description) {
+        OfflineSyncService.Operation operation =
+                OfflineSyncService.Operation.insert(table, null, row, bearerToken != null, description);
+        buffers.computeIfAbsent(new BatchKey(table, bearerToken), ignored -> new ArrayList<>()).add(operation);
+        buffered++;
+        if (buffered >= maxRows) {
+            flushAsync();
+        } else if (scheduledFlush == null) {
+            scheduledFlush = flusher.schedule(this::flush, window.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    synchronized boolean hasPending(String table) {
+        if (writingTables.contains(table)) {
+            return true;
+        }
+        for (BatchKey key : buffers.keySet()) {
+            if (key.table.equals(table)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    CompletableFuture<Void> flushAsync() {
+        return CompletableFuture.runAsync(this::flush, flusher);
+    }
+
+    /**
+     * Writes everything buffered so far on the calling thread, after waiting for any flush that is
+     * already writing. When this returns, every row added before the call has been written, queued
+     * in the offline journal or dropped as rejected.
+     */
+    void flush() {
+        synchronized (flushLock) {
+            Map<BatchKey, List<OfflineSyncService.Operation>> batches;
+            synchronized (this) {
+                if (scheduledFlush != null) {
+                    scheduledFlush.cancel(false);
+                    scheduledFlush = null;
+                }
+                if (buffers.isEmpty()) {
+                    return;
+                }
+                batches = new LinkedHashMap<>(buffers);
+                buffers.clear();
+                buffered = 0;
+                for (BatchKey key : batches.keySet()) {
+                    writingTables.add(key.table);
+                }
+            }
+            try {
+                batches.forEach(this::write);
+            } finally {
+                synchronized (this) {
+                    writingTables.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * Buffer depth and flush latency: {@code buffered} rows waiting, {@code flushes} and
+     * {@code rows_flushed} so far, and the last and worst flush time in milliseconds.
+     */
+    synchronized Map<String, Long> getStats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("buffered", (long) buffered);
+        stats.put("flushes", flushes.get());
+        stats.put("rows_flushed", rowsFlushed.get());
+        stats.put("last_flush_ms", lastFlushMillis.get());
+        stats.put("max_flush_ms", maxFlushMillis.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        flush();
+        flusher.shutdown();
+    }
+
+    private void write(BatchKey key, List<OfflineSyncService.Operation> operations) {
+        OfflineSyncService offline = journal;
+        if (offline != null && offline.shouldQueue()) {
+            operations.forEach(offline::queueOperation);
+            return;
+        }
+        JsonArray rows = new JsonArray();
+        for (OfflineSyncService.Operation operation : operations) {
+            rows.add(operation.getPayload());
+        }
+        long start = System.nanoTime();
+        try {
+            client.insertRecord(key.table, null, rows, key.bearerToken);
+            long elapsed = (System.nanoTime() - start) / 1_000_000;
+            flushes.incrementAndGet();
+            rowsFlushed.addAndGet(operations.size());
+            lastFlushMillis.set(elapsed);
+            maxFlushMillis.accumulateAndGet(elapsed, Math::max);
+        } catch (Exception e) {
+            if (offline != null && OfflineSyncService.isConnectivityFailure(e)) {
+                offline.setOfflineMode(true);
+                operations.forEach(offline::queueOperation);
+                return;
+            }
+            System.err.println("[WriteBehindBuffer] Dropping " + operations.size() + " " + key.table
+                    + " rows: " + e.getMessage());
+        }
+    }
+
+    private static final class BatchKey {
+        private final String table;
+        private final String bearerToken;
+
+        private BatchKey(String table, String bearerToken) {
+            this.table = table;
+            this.bearerToken = bearerToken;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof BatchKey)) {
+                return false;
+            }
+            BatchKey key = (BatchKey) other;
+            return table.equals(key.table) && Objects.equals(bearerToken, key.bearerToken);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(table, bearerToken);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.aditya.parivarpocket.ui;
+
+import javafx.application.Platform;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+
+/**
+ * Runs search-as-you-type queries off the FX thread.
+ *
+ * <p>Each {@link #submit} waits for a short pause in typing before it runs, and replaces whatever
+ * query was still waiting or running: the waiting one is dropped and the running one is marked
+ * stale, so long matching loops can stop early by checking {@link #isCancelled()}. Running queries
+ * are never interrupted, since they may be in the middle of a repository load that must not be
+ * cut short. Only the result of the newest query is handed to {@code publish}, on the FX thread.
+ *
+ * <p>The query is a {@link Callable} built on the FX thread, so it should capture whatever view
+ * state it needs at submit time and not touch controls or FX collections while it runs. All
+ * searches share one small pool of daemon threads.
+ */
+final class DebouncedSearch<R> {
+    private static final ScheduledExecutorService WORKERS = Executors.newScheduledThreadPool(2, runnable -> {
+        Thread thread = new Thread(runnable, "search-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+    // Whether the query running on this worker thread has been superseded
+    private static final ThreadLocal<BooleanSupplier> CANCELLED = new ThreadLocal<>();
+
+    private final String name;
+    private final Duration delay;
+    private final Consumer<R> publish;
+    private final AtomicLong generation = new AtomicLong();
+    private ScheduledFuture<?> pending;
+
+    DebouncedSearch(String name, Duration delay, Consumer<R> publish) {
+        this.name = name;
+        this.delay = delay;
+        this.publish = publish;
+    }
+
+    /**
+     * Runs {@code query} once typing has paused for the debounce delay.
+     */
+    void submit(Callable<R> query) {
+        schedule(query, delay.toMillis());
+    }
+
+    /**
+     * Runs {@code query} straight away, e.g. when the search button is pressed.
+     */
+    void submitNow(Callable<R> query) {
+        schedule(query, 0);
+    }
+
+    /**
+     * Drops any waiting or running query without publishing it.
+     */
+    synchronized void cancel() {
+        generation.incrementAndGet();
+        if (pending != null) {
+            pending.cancel(false);
+            pending = null;
+        }
+    }
+
+    /**
+     * True when the query running on this thread has been replaced by a newer one.
+     */
+    static boolean isCancelled() {
+        BooleanSupplier cancelled = CANCELLED.get();
+        return cancelled != null && cancelled.getAsBoolean();
+    }
+
+    private synchronized void schedule(Callable<R> query, long delayMillis) {
+        cancel();
+        long ticket = generation.get();
+        pending = WORKERS.schedule(() -> run(query, ticket), delayMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void run(Callable<R> query, long ticket) {
+        R result;
+        CANCELLED.set(() -> ticket != generation.get());
+        try {
+            result = query.call();
+        } catch (Exception e) {
+            if (ticket == generation.get()) {
+                System.err.println("[DebouncedSearch] " + name + " search failed: " + e.getMessage());
+            }
+            return;
+        } finally {
+            CANCELLED.remove();
+        }
+        if (ticket != generation.get()) {
+            return;
+        }
+        Platform.runLater(() -> {
+            // A newer keystroke may have landed while this was queued on the FX thread
+            if (ticket == generation.get()) {
+                publish.accept(result);
+            }
+        });
+    }
+}
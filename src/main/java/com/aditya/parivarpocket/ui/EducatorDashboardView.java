@@ -27,16 +27,20 @@ import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import javafx.stage.FileChooser;
 
@@ -46,6 +50,11 @@ public class EducatorDashboardView extends VBox {
     private final FilteredList<StudentProfile> filteredStudents = new FilteredList<>(allStudents, p -> true);
     private final TableView<StudentProfile> studentTable = new TableView<>();
     private final Map<String, StudentProgress> progressCache = new HashMap<>();
+    // Lower-cased name and email per student, rebuilt on the FX thread whenever the roster loads
+    private List<StudentSearchKey> studentSearchKeys = List.of();
+    private String studentSearchText = "";
+    private final DebouncedSearch<Set<StudentProfile>> studentSearch =
+            new DebouncedSearch<>("students", Duration.ofMillis(200), this::applyStudentFilter);
     private final ProgressIndicator loadingSpinner = new ProgressIndicator();
     private final VBox mainContent = new VBox(20);
     private final Label totalStudentsValue = createStatLabel("0");
@@ -159,16 +168,8 @@ public class EducatorDashboardView extends VBox {
         searchField.setPrefWidth(400);
         searchField.setStyle("-fx-padding: 8px; -fx-font-size: 13px; -fx-background-color: white; -fx-border-color: #ccc; -fx-border-radius: 4;");
         searchField.textProperty().addListener((obs, old, val) -> {
-            String lower = val == null ? "" : val.toLowerCase(Locale.ROOT);
-            filteredStudents.setPredicate(profile -> {
-                if (lower.isBlank()) return true;
-                StudentProgress progress = progressForProfile(profile);
-                String name = progress != null && progress.getStudentName() != null
-                        ? progress.getStudentName()
-                        : profile.getEmail();
-                return name.toLowerCase(Locale.ROOT).contains(lower)
-                        || profile.getEmail().toLowerCase(Locale.ROOT).contains(lower);
-            });
+            studentSearchText = val == null ? "" : val;
+            studentSearch.submit(studentQuery());
         });
 
         Button searchBtn = new Button("Q"); // Using Q as icon placeholder or magnifying glass
@@ -187,6 +188,63 @@ public class EducatorDashboardView extends VBox {
         return bar;
     }
 
+    /**
+     * Captures the search text and roster keys so matching can run on a worker thread.
+     * A {@code null} result means "show everyone".
+     */
+    private Callable<Set<StudentProfile>> studentQuery() {
+        String lower = studentSearchText.toLowerCase(Locale.ROOT);
+        List<StudentSearchKey> keys = studentSearchKeys;
+        return () -> {
+            if (lower.isBlank()) {
+                return null;
+            }
+            Set<StudentProfile> matches = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (int i = 0; i < keys.size(); i++) {
+                if ((i & 255) == 0 && DebouncedSearch.isCancelled()) {
+                    return null;
+                }
+                StudentSearchKey key = keys.get(i);
+                if (key.name.contains(lower) || key.email.contains(lower)) {
+                    matches.add(key.profile);
+                }
+            }
+            return matches;
+        };
+    }
+
+    private void applyStudentFilter(Set<StudentProfile> matches) {
+        filteredStudents.setPredicate(matches == null ? profile -> true : matches::contains);
+    }
+
+    private void rebuildStudentSearchKeys() {
+        List<StudentSearchKey> keys = new ArrayList<>(allStudents.size());
+        for (StudentProfile profile : allStudents) {
+            StudentProgress progress = progressForProfile(profile);
+            String email = profile.getEmail() != null ? profile.getEmail() : "";
+            String name = progress != null && progress.getStudentName() != null
+                    ? progress.getStudentName()
+                    : email;
+            keys.add(new StudentSearchKey(profile, name.toLowerCase(Locale.ROOT), email.toLowerCase(Locale.ROOT)));
+        }
+        studentSearchKeys = List.copyOf(keys);
+        if (!studentSearchText.isBlank()) {
+            studentSearch.submitNow(studentQuery());
+        }
+    }
+
+    private static final class StudentSearchKey {
+        private final StudentProfile profile;
+        private final String name;
+        private final String email;
+
+        private StudentSearchKey(StudentProfile profile, String name, String email) {
+            this.profile = profile;
+            this.name = name;
+            this.email = email;
+        }
+    }
+
     private void handleExport() {
         FileChooser fileChooser = new FileChooser();
         fileChooser.setTitle("Export Student Report");
@@ -519,20 +577,23 @@ public class EducatorDashboardView extends VBox {
                 }
             }
             
-            // Fetch progress for all students
-            for (StudentProfile profile : studentsOnly) {
-                try {
-                    StudentProgress progress = repository.getStudentProgress(profile.getEmail());
-                    if (progress != null) {
-                        progressCache.put(profile.getEmail(), progress);
-                    }
-                } catch (Exception e) {
-                    System.err.println("[EducatorDashboardView] Failed to load progress for " + profile.getEmail());
+            // Fetch progress for all students in one bulk pass
+            Map<String, StudentProgress> loaded = Collections.emptyMap();
+            try {
+                List<String> emails = new ArrayList<>();
+                for (StudentProfile profile : studentsOnly) {
+                    emails.add(profile.getEmail());
                 }
+                loaded = repository.getStudentProgressBulk(emails);
+            } catch (Exception e) {
+                System.err.println("[EducatorDashboardView] Failed to load student progress: " + e.getMessage());
             }
+            Map<String, StudentProgress> progressByEmail = loaded;
             
             Platform.runLater(() -> {
+                progressCache.putAll(progressByEmail);
                 allStudents.setAll(studentsOnly);
+                rebuildStudentSearchKeys();
                 refreshMetrics();
                 
                 loadingSpinner.setVisible(false);
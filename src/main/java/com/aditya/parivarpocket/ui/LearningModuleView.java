@@ -202,9 +202,13 @@ public class LearningModuleView extends VBox {
 
         VBox contentBox = new VBox(16);
         contentBox.getStyleClass().add("modal-box");
-        Label desc = new Label(lesson.getDescription());
+        // List screens load lessons without their description; fetch the full row on open
+        Label desc = new Label("Loading module overview...");
         desc.getStyleClass().add("modal-content-text");
         desc.setWrapText(true);
+        java.util.concurrent.CompletableFuture.supplyAsync(() -> repository.getLessonDetails(lesson.getId()))
+                .thenAccept(details -> javafx.application.Platform.runLater(() ->
+                        desc.setText(details != null ? details.getDescription() : lesson.getDescription())));
         contentBox.getChildren().addAll(iconBox, desc);
 
         VBox topicsSection = new VBox(12);
@@ -10,10 +10,10 @@ import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.control.ScrollPane;
 import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.Priority;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 
-import java.util.concurrent.CompletableFuture;
 
 public class MainLayout {
     private final BorderPane root = new BorderPane();
@@ -38,9 +38,7 @@ public class MainLayout {
         renderSkeleton();
         
         // Load data asynchronously in background
-        CompletableFuture.runAsync(() -> {
-            repository.prefetchAll(user);
-        }).thenRun(() -> Platform.runLater(this::render));
+        repository.prefetchAll(user).thenRun(() -> Platform.runLater(this::render));
     }
     
     private void renderSkeleton() {
@@ -79,8 +77,14 @@ public class MainLayout {
             refreshAction = () -> triggerManualRefresh(user);
         }
 
-        VBox container = new VBox(18, new PageHeader(title, desc, refreshAction), contentForTab(tab));
+        Node content = contentForTab(tab);
+        VBox container = new VBox(18, new PageHeader(title, desc, refreshAction), content);
         container.setPadding(new Insets(16, 24, 24, 24));
+        if (tab == MainTab.WORK) {
+            // The job list scrolls itself; wrapping it in a second scroll pane gives nested scrollbars
+            VBox.setVgrow(content, Priority.ALWAYS);
+            return container;
+        }
         ScrollPane scrollPane = new ScrollPane(container);
         scrollPane.setFitToWidth(true);
         scrollPane.setHbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
@@ -92,10 +96,7 @@ public class MainLayout {
         // Clear caches to force fetch
         tabContentCache.clear();
         
-        CompletableFuture.runAsync(() -> {
-            repository.prefetchAll(user);
-            Platform.runLater(this::refreshContent);
-        });
+        repository.prefetchAll(user).thenRun(() -> Platform.runLater(this::refreshContent));
     }
 
     private String titleFor(MainTab tab) {
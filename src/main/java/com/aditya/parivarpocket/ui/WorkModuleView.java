@@ -4,9 +4,14 @@ import com.aditya.parivarpocket.model.JobApplication;
 import com.aditya.parivarpocket.model.JobOpportunity;
 import com.aditya.parivarpocket.model.User;
 import com.aditya.parivarpocket.service.DataRepository;
+import com.aditya.parivarpocket.service.JobIngestionEngine;
 import com.aditya.parivarpocket.service.RapidJobService;
+import com.aditya.parivarpocket.util.JobRanking;
 import com.google.gson.JsonObject;
+import javafx.animation.PauseTransition;
 import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
 import javafx.concurrent.Task;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -21,22 +26,35 @@ import java.awt.Desktop;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.stream.Collectors;
 
 public class WorkModuleView extends VBox {
+    // Favorite writes run one at a time, in click order, so the last click always wins on the server
+    private static final ExecutorService FAVORITE_WRITER = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "favorite-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private final DataRepository repository;
-    private final RapidJobService rapidJobService = new RapidJobService();
+    private final JobIngestionEngine jobIngestion = new JobIngestionEngine(new RapidJobService());
     private final TextField searchField = new TextField();
     private final Button refreshButton = new Button("Refresh");
     private final ProgressIndicator loadingIndicator = new ProgressIndicator();
@@ -49,11 +67,23 @@ public class WorkModuleView extends VBox {
 
     // TEST 24: DB connection status label
     private final Label dbStatusLabel = new Label("● Connecting...");
+    private final Label noticeLabel = new Label();
+    private final PauseTransition noticeTimer = new PauseTransition(javafx.util.Duration.seconds(4));
 
     // TEST 28: Track applied jobs in this session
     private final Set<String> appliedJobIds = new HashSet<>();
 
     private List<JobOpportunity> allJobs = new ArrayList<>();
+    private Set<String> allJobIds = Set.of();
+    // Saved state as shown, including optimistic changes whose write has not finished yet
+    private final Set<String> favoriteJobIds = new HashSet<>();
+    private final Map<String, PendingFavorite> pendingFavorites = new HashMap<>();
+    private long favoriteVersion;
+    private final ObservableList<JobOpportunity> visibleJobs = FXCollections.observableArrayList();
+    private final ListView<JobOpportunity> jobList = new ListView<>(visibleJobs);
+    private final VBox listingsPane = buildListingsPane();
+    private final DebouncedSearch<List<JobOpportunity>> jobSearch =
+            new DebouncedSearch<>("jobs", Duration.ofMillis(250), this::renderListings);
 
     // When true, jobs are shown sorted by descending salary; otherwise randomly shuffled
     private boolean isSortedBySalary = false;
@@ -67,8 +97,14 @@ public class WorkModuleView extends VBox {
         
         // Style the DB status label
         dbStatusLabel.setStyle("-fx-text-fill: #888; -fx-font-size: 11px; -fx-padding: 4 8;");
+        noticeLabel.setStyle("-fx-text-fill: #f44336; -fx-font-size: 11px; -fx-padding: 4 8;");
+        noticeLabel.setVisible(false);
+        noticeTimer.setOnFinished(e -> noticeLabel.setVisible(false));
         
         getChildren().addAll(buildHeader(), contentHolder);
+        // The list is the page's only scroll container and fills whatever height is left
+        VBox.setVgrow(contentHolder, Priority.ALWAYS);
+        VBox.setVgrow(listingsPane, Priority.ALWAYS);
         fetchJobs();
     }
 
@@ -101,15 +137,13 @@ public class WorkModuleView extends VBox {
         Task<List<JobOpportunity>> task = new Task<>() {
             @Override
             protected List<JobOpportunity> call() throws Exception {
-                List<JobOpportunity> fetched = rapidJobService.fetchRecentWestBengalJobs();
+                // Each batch is persisted while later pages are still downloading
+                List<JobOpportunity> fetched = jobIngestion.ingest(repository::syncJobs);
                 if (fetched.isEmpty()) {
                     return Collections.emptyList();
                 }
-                try {
-                    return repository.syncJobs(fetched);
-                } catch (Exception e) {
-                    return fetched;
-                }
+                List<JobOpportunity> synced = repository.getJobOpportunities();
+                return synced.isEmpty() ? fetched : synced;
             }
         };
         task.setOnSucceeded(event -> {
@@ -157,7 +191,8 @@ public class WorkModuleView extends VBox {
         
         Button searchBtn = new Button("\u2315"); // Magnifying glass
         searchBtn.getStyleClass().add("job-search-btn");
-        searchBtn.setOnAction(e -> { isSortedBySalary = false; refreshListings(); });
+        searchBtn.setOnAction(e -> { isSortedBySalary = false; jobSearch.submitNow(searchQuery()); });
+        searchField.textProperty().addListener((obs, old, val) -> jobSearch.submit(searchQuery()));
 
         HBox searchBox = new HBox(searchField, searchBtn);
         searchBox.getStyleClass().add("job-search-box");
@@ -196,7 +231,7 @@ public class WorkModuleView extends VBox {
         // TEST 24: DB status row at bottom of header
         HBox statusRow = new HBox();
         statusRow.setAlignment(Pos.CENTER_RIGHT);
-        statusRow.getChildren().add(dbStatusLabel);
+        statusRow.getChildren().addAll(noticeLabel, dbStatusLabel);
 
         mainContainer.getChildren().addAll(titleRow, new Separator(), controls, metrics, statusRow);
         header.getChildren().addAll(mainContainer);
@@ -269,47 +304,81 @@ public class WorkModuleView extends VBox {
     }
 
     private void refreshListings() {
-        VBox list = new VBox(20);
-        list.setPadding(new Insets(24));
-        
-        Label sectionTitle = new Label("Job Listings");
-        sectionTitle.getStyleClass().add("modal-header-title");
-        list.getChildren().addAll(sectionTitle, new Separator());
+        // Render synchronously; a search still waiting on a keystroke would only repeat this
+        jobSearch.cancel();
+        renderListings(filterAndSortJobs(searchField.getText(), allJobs, allJobIds, isSortedBySalary));
+    }
 
+    /**
+     * Captures the current listing state so the search can run on a worker thread.
+     */
+    private Callable<List<JobOpportunity>> searchQuery() {
+        String term = searchField.getText();
+        List<JobOpportunity> jobs = allJobs;
+        Set<String> jobIds = allJobIds;
+        boolean bySalary = isSortedBySalary;
+        return () -> filterAndSortJobs(term, jobs, jobIds, bySalary);
+    }
+
+    private void renderListings(List<JobOpportunity> filtered) {
         if (allJobs.isEmpty()) {
-            list.getChildren().add(new Label("No jobs available. Please refresh."));
-            contentHolder.getChildren().setAll(list);
+            VBox empty = new VBox(20, listingsTitle(), new Separator(), new Label("No jobs available. Please refresh."));
+            empty.setPadding(new Insets(24));
+            contentHolder.getChildren().setAll(empty);
             return;
         }
 
-        List<JobOpportunity> filtered = filterAndSortJobs();
-        List<String> favIds = repository.fetchFavoriteJobIds(repository.getCurrentUser());
-        
-        for (JobOpportunity job : filtered) {
-            list.getChildren().add(buildJobCard(job, favIds.contains(job.getId())));
+        favoriteJobIds.clear();
+        favoriteJobIds.addAll(repository.fetchFavoriteJobIds(repository.getCurrentUser()));
+        // Writes still in flight are not in the repository yet; keep showing what was clicked
+        for (Map.Entry<String, PendingFavorite> pending : pendingFavorites.entrySet()) {
+            showFavorite(pending.getKey(), pending.getValue().saved);
         }
-        
-        ScrollPane scroll = new ScrollPane(list);
-        scroll.setFitToWidth(true);
-        scroll.setStyle("-fx-background-color: transparent; -fx-background: transparent;");
-        contentHolder.getChildren().setAll(scroll);
-        
-        updateMetrics(favIds.size());
+
+        // Cells are reused; only the rows in view are (re)bound to listings
+        visibleJobs.setAll(filtered);
+        jobList.scrollTo(0);
+        if (!contentHolder.getChildren().contains(listingsPane)) {
+            contentHolder.getChildren().setAll(listingsPane);
+        }
+
+        updateMetrics();
+    }
+
+    private VBox buildListingsPane() {
+        jobList.getStyleClass().add("job-list");
+        jobList.setCellFactory(view -> new JobCardCell());
+        jobList.setFocusTraversable(false);
+
+        VBox pane = new VBox(20, listingsTitle(), new Separator(), jobList);
+        pane.setPadding(new Insets(24));
+        VBox.setVgrow(jobList, Priority.ALWAYS);
+        return pane;
+    }
+
+    private Label listingsTitle() {
+        Label sectionTitle = new Label("Job Listings");
+        sectionTitle.getStyleClass().add("modal-header-title");
+        return sectionTitle;
     }
 
-    private List<JobOpportunity> filterAndSortJobs() {
-        String term = searchField.getText() == null ? "" : searchField.getText().trim().toLowerCase();
-        List<JobOpportunity> filtered = allJobs.stream()
-                .filter(job -> term.isBlank() || 
-                        job.getTitle().toLowerCase().contains(term) || 
-                        job.getCompany().toLowerCase().contains(term))
-                .collect(Collectors.toList());
-
-        if (isSortedBySalary) {
-            // Sort by descending salary when the sort button has been clicked
-            filtered.sort((a, b) -> Double.compare(b.getSalaryMax() != null ? b.getSalaryMax() : 0,
-                                                   a.getSalaryMax() != null ? a.getSalaryMax() : 0));
+    private List<JobOpportunity> filterAndSortJobs(String text, List<JobOpportunity> jobs,
+                                                   Set<String> jobIds, boolean bySalary) {
+        String term = text == null ? "" : text.trim();
+        List<JobOpportunity> filtered;
+        if (term.isBlank()) {
+            filtered = new ArrayList<>(jobs);
         } else {
+            // Ranked by the repository's search index; keep only listings this view is showing
+            filtered = repository.searchJobs(term).stream()
+                    .filter(job -> jobIds.contains(job.getId()))
+                    .collect(Collectors.toList());
+        }
+
+        if (bySalary) {
+            // Sort by descending salary when the sort button has been clicked; equal salaries show the newest first
+            filtered = JobRanking.sort(filtered, JobRanking.Key.SALARY_DESCENDING, JobRanking.Key.NEWEST_FIRST);
+        } else if (term.isBlank()) {
             // Default: randomly shuffle so jobs don't always appear in DB insertion order
             Collections.shuffle(filtered);
         }
@@ -317,65 +386,91 @@ public class WorkModuleView extends VBox {
         return filtered;
     }
 
-    private Node buildJobCard(JobOpportunity job, boolean isFav) {
-        VBox card = new VBox(12);
-        card.getStyleClass().add("job-card-redesign");
-
-        HBox topRow = new HBox(20);
-        topRow.setAlignment(Pos.TOP_LEFT);
-
-        VBox info = new VBox(6);
-        Label title = new Label(job.getTitle());
-        title.getStyleClass().add("job-card-title");
-        
-        HBox companyRow = new HBox(12);
-        companyRow.setAlignment(Pos.CENTER_LEFT);
-        Label company = new Label(job.getCompany());
-        company.getStyleClass().add("job-card-company");
-        
-        Label catBadge = new Label(job.getCategory());
-        catBadge.getStyleClass().add("job-card-category-badge");
-        companyRow.getChildren().addAll(company, catBadge);
-
-        Label meta = new Label(String.format("%s, %s    %s    (%s)", 
-            job.getLocation(), job.getLocality(), job.getSalaryDescription(), job.getWorkingHours()));
-        meta.getStyleClass().add("job-card-meta");
+    /**
+     * One job card, built once per visible row and rebound as the list scrolls.
+     */
+    private final class JobCardCell extends ListCell<JobOpportunity> {
+        private final VBox card = new VBox(12);
+        private final Label title = new Label();
+        private final Label company = new Label();
+        private final Label catBadge = new Label();
+        private final Label meta = new Label();
+        private final Button applyBtn = new Button();
+        private final Button saveBtn = new Button();
+
+        private JobCardCell() {
+            card.getStyleClass().add("job-card-redesign");
+
+            HBox topRow = new HBox(20);
+            topRow.setAlignment(Pos.TOP_LEFT);
+
+            VBox info = new VBox(6);
+            title.getStyleClass().add("job-card-title");
+
+            HBox companyRow = new HBox(12);
+            companyRow.setAlignment(Pos.CENTER_LEFT);
+            company.getStyleClass().add("job-card-company");
+            catBadge.getStyleClass().add("job-card-category-badge");
+            companyRow.getChildren().addAll(company, catBadge);
+
+            meta.getStyleClass().add("job-card-meta");
+
+            info.getChildren().addAll(title, companyRow, meta);
+            HBox.setHgrow(info, Priority.ALWAYS);
+
+            VBox actions = new VBox(8);
+            actions.setAlignment(Pos.CENTER_RIGHT);
+
+            applyBtn.getStyleClass().add("job-apply-dark-btn");
+            applyBtn.setOnAction(e -> {
+                JobOpportunity job = getItem();
+                if (job == null) return;
+                handleJobApply(job);
+                appliedJobIds.add(job.getId());
+                showApplied(true);
+            });
 
-        info.getChildren().addAll(title, companyRow, meta);
-        HBox.setHgrow(info, Priority.ALWAYS);
+            saveBtn.getStyleClass().add("job-save-white-btn");
+            saveBtn.setOnAction(e -> {
+                JobOpportunity job = getItem();
+                if (job == null) return;
+                showSaved(toggleFavorite(job.getId()));
+            });
 
-        VBox actions = new VBox(8);
-        actions.setAlignment(Pos.CENTER_RIGHT);
+            actions.getChildren().addAll(applyBtn, saveBtn);
 
-        // TEST 28: Show "Applied ✓" if already applied, otherwise "Apply Now"
-        boolean alreadyApplied = appliedJobIds.contains(job.getId());
-        Button applyBtn = new Button(alreadyApplied ? "Applied \u2713" : "Apply Now");
-        applyBtn.getStyleClass().add("job-apply-dark-btn");
-        if (alreadyApplied) {
-            applyBtn.setDisable(true);
-            applyBtn.setStyle("-fx-opacity: 0.7;");
+            topRow.getChildren().addAll(info, actions);
+            card.getChildren().add(topRow);
+            setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
         }
-        applyBtn.setOnAction(e -> {
-            handleJobApply(job);
-            appliedJobIds.add(job.getId());
-            applyBtn.setText("Applied \u2713");
-            applyBtn.setDisable(true);
-            applyBtn.setStyle("-fx-opacity: 0.7;");
-        });
 
-        Button saveBtn = new Button(isFav ? "\uD83D\uDD16 Saved" : "\uD83D\uDD16 Save");
-        saveBtn.getStyleClass().add("job-save-white-btn");
-        saveBtn.setOnAction(e -> {
-            repository.toggleFavorite(repository.getCurrentUser(), job.getId());
-            refreshListings();
-        });
-
-        actions.getChildren().addAll(applyBtn, saveBtn);
+        @Override
+        protected void updateItem(JobOpportunity job, boolean empty) {
+            super.updateItem(job, empty);
+            if (empty || job == null) {
+                setGraphic(null);
+                return;
+            }
+            title.setText(job.getTitle());
+            company.setText(job.getCompany());
+            catBadge.setText(job.getCategory());
+            meta.setText(String.format("%s, %s    %s    (%s)",
+                job.getLocation(), job.getLocality(), job.getSalaryDescription(), job.getWorkingHours()));
+            // TEST 28: Show "Applied ✓" if already applied, otherwise "Apply Now"
+            showApplied(appliedJobIds.contains(job.getId()));
+            showSaved(favoriteJobIds.contains(job.getId()));
+            setGraphic(card);
+        }
 
-        topRow.getChildren().addAll(info, actions);
-        card.getChildren().add(topRow);
+        private void showSaved(boolean saved) {
+            saveBtn.setText(saved ? "\uD83D\uDD16 Saved" : "\uD83D\uDD16 Save");
+        }
 
-        return card;
+        private void showApplied(boolean applied) {
+            applyBtn.setText(applied ? "Applied \u2713" : "Apply Now");
+            applyBtn.setDisable(applied);
+            applyBtn.setStyle(applied ? "-fx-opacity: 0.7;" : "");
+        }
     }
 
     /**
@@ -420,17 +515,19 @@ public class WorkModuleView extends VBox {
                 : "Not specified";
         addDetailRow(body, "\uD83D\uDCCB Required Skills", skills);
 
-        // Safety Guidance
-        String safety = job.getSafetyGuidance() != null && !job.getSafetyGuidance().isBlank()
-                ? job.getSafetyGuidance()
-                : "Standard workplace safety practices apply.";
-        addDetailRow(body, "\uD83D\uDEE1 Safety Guidance", safety);
-
-        // Contact Info
-        String contact = job.getContactInfo() != null && !job.getContactInfo().isBlank()
-                ? job.getContactInfo()
-                : "Apply via the link below.";
-        addDetailRow(body, "\uD83D\uDCDE Contact", contact);
+        // Safety Guidance and Contact Info are not part of the listing projection; load them on open
+        Label safetyValue = addDetailRow(body, "\uD83D\uDEE1 Safety Guidance", "Loading...");
+        Label contactValue = addDetailRow(body, "\uD83D\uDCDE Contact", "Loading...");
+        CompletableFuture.supplyAsync(() -> repository.getJobDetails(job.getId()))
+                .thenAccept(details -> Platform.runLater(() -> {
+                    JobOpportunity full = details != null ? details : job;
+                    safetyValue.setText(full.getSafetyGuidance() != null && !full.getSafetyGuidance().isBlank()
+                            ? full.getSafetyGuidance()
+                            : "Standard workplace safety practices apply.");
+                    contactValue.setText(full.getContactInfo() != null && !full.getContactInfo().isBlank()
+                            ? full.getContactInfo()
+                            : "Apply via the link below.");
+                }));
 
         Separator sep2 = new Separator();
 
@@ -449,7 +546,7 @@ public class WorkModuleView extends VBox {
             appliedJobIds.add(job.getId());
             applyBtn.setText("Applied \u2713");
             applyBtn.setDisable(true);
-            refreshListings();
+            jobList.refresh();
         });
 
         Button closeBtn = new Button("Close");
@@ -473,7 +570,7 @@ public class WorkModuleView extends VBox {
         dialog.showAndWait();
     }
 
-    private void addDetailRow(VBox container, String label, String value) {
+    private Label addDetailRow(VBox container, String label, String value) {
         VBox row = new VBox(4);
         Label lbl = new Label(label);
         lbl.setStyle("-fx-font-weight: bold; -fx-font-size: 13px;");
@@ -482,12 +579,97 @@ public class WorkModuleView extends VBox {
         val.setStyle("-fx-text-fill: #333; -fx-font-size: 13px;");
         row.getChildren().addAll(lbl, val);
         container.getChildren().add(row);
+        return val;
+    }
+
+    /**
+     * Flips the saved state of a job on screen right away and writes it in the background. If the
+     * write fails and no newer click on the same job has replaced it, the card goes back to the
+     * last state the server confirmed and a notice is shown.
+     *
+     * @return the new saved state
+     */
+    private boolean toggleFavorite(String jobId) {
+        User user = repository.getCurrentUser();
+        boolean saved = !favoriteJobIds.contains(jobId);
+        if (user == null) {
+            return !saved;
+        }
+        showFavorite(jobId, saved);
+        updateMetrics();
+
+        long version = ++favoriteVersion;
+        PendingFavorite previous = pendingFavorites.get(jobId);
+        // With no write outstanding, what was on screen is what the server has
+        boolean confirmed = previous != null ? previous.confirmed : !saved;
+        pendingFavorites.put(jobId, new PendingFavorite(version, saved, confirmed));
+        CompletableFuture.supplyAsync(() -> repository.setFavorite(user, jobId, saved), FAVORITE_WRITER)
+                .exceptionally(error -> {
+                    System.err.println("[WorkModuleView] Favorite write failed: " + error.getMessage());
+                    return false;
+                })
+                .thenAccept(written -> Platform.runLater(() -> finishFavorite(jobId, version, saved, written)));
+        return saved;
+    }
+
+    private void finishFavorite(String jobId, long version, boolean saved, boolean written) {
+        PendingFavorite pending = pendingFavorites.get(jobId);
+        if (pending == null) {
+            return;
+        }
+        if (pending.version != version) {
+            // A newer click on this job is still being written and decides what is shown; only
+            // remember what the server now holds in case that write fails
+            if (written) {
+                pending.confirmed = saved;
+            }
+            return;
+        }
+        pendingFavorites.remove(jobId);
+        if (written) {
+            return;
+        }
+        showFavorite(jobId, pending.confirmed);
+        updateMetrics();
+        // Rebinds only the rows in view, so the rolled-back card picks up its old state
+        jobList.refresh();
+        showNotice(saved ? "Couldn't save that job. Please try again." : "Couldn't remove that saved job. Please try again.");
+    }
+
+    private void showFavorite(String jobId, boolean saved) {
+        if (saved) {
+            favoriteJobIds.add(jobId);
+        } else {
+            favoriteJobIds.remove(jobId);
+        }
+    }
+
+    private void showNotice(String message) {
+        noticeLabel.setText(message);
+        noticeLabel.setVisible(true);
+        noticeTimer.playFromStart();
+    }
+
+    /**
+     * The newest click on a job whose writes have not all finished, and the last saved state the
+     * server confirmed for it.
+     */
+    private static final class PendingFavorite {
+        private final long version;
+        private final boolean saved;
+        private boolean confirmed;
+
+        private PendingFavorite(long version, boolean saved, boolean confirmed) {
+            this.version = version;
+            this.saved = saved;
+            this.confirmed = confirmed;
+        }
     }
 
-    private void updateMetrics(int favCount) {
+    private void updateMetrics() {
         availableJobsVal.setText(String.valueOf(allJobs.size()));
         appsVal.setText(String.valueOf(appliedJobIds.size()));
-        bookmarkedVal.setText(String.valueOf(favCount));
+        bookmarkedVal.setText(String.valueOf(favoriteJobIds.size()));
     }
 
     private void updateJobListing(List<JobOpportunity> jobs) {
@@ -499,6 +681,7 @@ public class WorkModuleView extends VBox {
             if (job != null && job.getId() != null) merged.putIfAbsent(job.getId(), job);
         }
         allJobs = new ArrayList<>(merged.values());
+        allJobIds = Set.copyOf(merged.keySet());
         Platform.runLater(this::refreshListings);
     }
 
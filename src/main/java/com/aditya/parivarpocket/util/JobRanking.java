@@ -0,0 +1,107 @@
+package com.aditya.parivarpocket.util;
+
+import com.aditya.parivarpocket.model.JobOpportunity;
+
+import java.text.CollationKey;
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Orders job listings by one or more {@link Key}s.
+ *
+ * <p>The sort keys of every listing are computed once up front (salary as a primitive
+ * {@code double}, publish time as a {@code long}, title as a {@link CollationKey}), so comparisons
+ * never unbox or re-collate. Orderings are stable: listings that tie on every key keep their input
+ * order.
+ *
+ * <p><b>Time complexity:</b> O(n log n).
+ */
+public final class JobRanking {
+
+    /**
+     * A sort key. Listings without a salary rank as salary 0; titles compare by the default
+     * locale's collation rules, ignoring case.
+     */
+    public enum Key {
+        SALARY_DESCENDING,
+        NEWEST_FIRST,
+        TITLE_ASCENDING
+    }
+
+    private JobRanking() {
+        // Utility class — not instantiable
+    }
+
+    /**
+     * Returns a new list with {@code jobs} ordered by {@code keys}, most significant key first.
+     * The input list is not modified.
+     */
+    public static List<JobOpportunity> sort(List<JobOpportunity> jobs, Key... keys) {
+        if (jobs == null || jobs.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Ranked[] ranked = rank(jobs, keys);
+        Arrays.sort(ranked, comparator(keys));
+        List<JobOpportunity> sorted = new ArrayList<>(ranked.length);
+        for (Ranked entry : ranked) {
+            sorted.add(entry.job);
+        }
+        return sorted;
+    }
+
+    private static Ranked[] rank(List<JobOpportunity> jobs, Key[] keys) {
+        boolean needsTitle = Arrays.asList(keys).contains(Key.TITLE_ASCENDING);
+        Collator collator = null;
+        if (needsTitle) {
+            collator = Collator.getInstance(Locale.getDefault());
+            collator.setStrength(Collator.SECONDARY);
+        }
+        Ranked[] ranked = new Ranked[jobs.size()];
+        int position = 0;
+        for (JobOpportunity job : jobs) {
+            Double salaryMax = job.getSalaryMax();
+            String title = job.getTitle() != null ? job.getTitle() : "";
+            ranked[position] = new Ranked(job, position,
+                    salaryMax != null ? salaryMax : 0,
+                    job.getPubDateTsMilli(),
+                    needsTitle ? collator.getCollationKey(title) : null);
+            position++;
+        }
+        return ranked;
+    }
+
+    private static Comparator<Ranked> comparator(Key[] keys) {
+        Comparator<Ranked> order = null;
+        for (Key key : keys) {
+            Comparator<Ranked> next = switch (key) {
+                case SALARY_DESCENDING -> (a, b) -> Double.compare(b.salary, a.salary);
+                case NEWEST_FIRST -> (a, b) -> Long.compare(b.published, a.published);
+                case TITLE_ASCENDING -> (a, b) -> a.title.compareTo(b.title);
+            };
+            order = order == null ? next : order.thenComparing(next);
+        }
+        // Input position breaks the final tie
+        Comparator<Ranked> byPosition = (a, b) -> Integer.compare(a.position, b.position);
+        return order == null ? byPosition : order.thenComparing(byPosition);
+    }
+
+    private static final class Ranked {
+        private final JobOpportunity job;
+        private final int position;
+        private final double salary;
+        private final long published;
+        private final CollationKey title;
+
+        private Ranked(JobOpportunity job, int position, double salary, long published, CollationKey title) {
+            this.job = job;
+            this.position = position;
+            this.salary = salary;
+            this.published = published;
+            this.title = title;
+        }
+    }
+}
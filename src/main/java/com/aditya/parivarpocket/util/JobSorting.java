@@ -8,7 +8,7 @@ import java.util.List;
  * Utility class providing sorting algorithms for job listings.
  *
  * <p>Currently contains a Bubble Sort implementation for educational reference.
- * The application uses Java's built-in sort (via Comparator) for actual sorting.
+ * The application uses {@link JobRanking} for actual sorting.
  */
 public class JobSorting {
 
@@ -0,0 +1,147 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Unit tests for {@link BulkUpsert}: chunk packing, lanes and per-chunk retries.
+ */
+public class BulkUpsertTest extends TestCase {
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    private final RecordingClient server = new RecordingClient();
+
+    public void testEmptyInputSendsNothing() {
+        BulkUpsert upsert = new BulkUpsert(server, 1024, 10, 2);
+        assertTrue(upsert.upsert("jobs", "id", List.<Integer>of(), BulkUpsertTest::row, null, TIMEOUT).isEmpty());
+        assertTrue(server.requests.isEmpty());
+    }
+
+    public void testChunksAreBoundedByRowCount() {
+        BulkUpsert upsert = new BulkUpsert(server, 1 << 20, 3, 2);
+        List<Integer> items = range(10);
+        assertEquals(items, upsert.upsert("jobs", "id", items, BulkUpsertTest::row, null, TIMEOUT));
+
+        List<Integer> sizes = server.requests.stream().map(JsonArray::size).sorted().collect(Collectors.toList());
+        assertEquals(List.of(1, 3, 3, 3), sizes);
+        assertEquals(items, server.sentIds());
+    }
+
+    public void testChunksAreBoundedByBytes() {
+        int maxBytes = 200;
+        BulkUpsert upsert = new BulkUpsert(server, maxBytes, 1000, 3);
+        List<Integer> items = range(40);
+        upsert.upsert("jobs", "id", items, BulkUpsertTest::row, null, TIMEOUT);
+
+        assertTrue(server.requests.size() > 1);
+        for (String body : server.bodies) {
+            assertTrue(body.getBytes(StandardCharsets.UTF_8).length <= maxBytes);
+        }
+        assertEquals(items, server.sentIds());
+    }
+
+    public void testOversizedRowGetsItsOwnChunk() {
+        BulkUpsert upsert = new BulkUpsert(server, 10, 1000, 1);
+        assertEquals(range(3), upsert.upsert("jobs", "id", range(3), BulkUpsertTest::row, null, TIMEOUT));
+        assertEquals(3, server.requests.size());
+    }
+
+    public void testFailedChunkIsRetriedOnce() {
+        server.failuresById.put(3, 1);
+        BulkUpsert upsert = new BulkUpsert(server, 1 << 20, 3, 2);
+        assertEquals(range(9), upsert.upsert("jobs", "id", range(9), BulkUpsertTest::row, null, TIMEOUT));
+        assertEquals(4, server.requests.size());
+    }
+
+    public void testChunkThatKeepsFailingIsLeftOut() {
+        server.failuresById.put(3, 2);
+        BulkUpsert upsert = new BulkUpsert(server, 1 << 20, 3, 2);
+        assertEquals(List.of(0, 1, 2, 6, 7, 8), upsert.upsert("jobs", "id", range(9), BulkUpsertTest::row, null, TIMEOUT));
+    }
+
+    public void testInFlightRequestsNeverExceedLanes() {
+        server.delayMillis = 20;
+        BulkUpsert upsert = new BulkUpsert(server, 1 << 20, 1, 3);
+        assertEquals(range(12), upsert.upsert("jobs", "id", range(12), BulkUpsertTest::row, null, TIMEOUT));
+        assertTrue(server.maxInFlight.get() <= 3);
+        assertTrue(server.maxInFlight.get() > 1);
+    }
+
+    private static List<Integer> range(int count) {
+        return IntStream.range(0, count).boxed().collect(Collectors.toList());
+    }
+
+    private static JsonObject row(Integer id) {
+        JsonObject row = new JsonObject();
+        row.addProperty("id", id);
+        row.addProperty("title", "Listing " + id);
+        return row;
+    }
+
+    /**
+     * Records each upsert body; fails a request while its first row still has failures queued.
+     */
+    private static final class RecordingClient extends SupabaseClient {
+        private final List<JsonArray> requests = Collections.synchronizedList(new ArrayList<>());
+        private final List<String> bodies = Collections.synchronizedList(new ArrayList<>());
+        private final Map<Integer, Integer> failuresById = new ConcurrentHashMap<>();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+        private volatile long delayMillis;
+
+        @Override
+        public CompletableFuture<Void> upsertRowsAsync(String table, String onConflict, String rowsJson,
+                                                       String bearerToken, Duration timeout) {
+            JsonArray rows = JsonParser.parseString(rowsJson).getAsJsonArray();
+            requests.add(rows);
+            bodies.add(rowsJson);
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            return CompletableFuture.runAsync(() -> {
+                try {
+                    Thread.sleep(delayMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                inFlight.decrementAndGet();
+                int first = rows.get(0).getAsJsonObject().get("id").getAsInt();
+                Integer remaining = failuresById.computeIfPresent(first, (id, left) -> left - 1);
+                if (remaining != null) {
+                    if (remaining <= 0) {
+                        failuresById.remove(first);
+                    }
+                    throw new IllegalStateException("Supabase upsert failed (" + table + "): HTTP 503");
+                }
+            });
+        }
+
+        /**
+         * Ids of every row sent at least once, in id order.
+         */
+        List<Integer> sentIds() {
+            synchronized (requests) {
+                return requests.stream()
+                        .flatMap(rows -> rows.asList().stream())
+                        .map(JsonElement::getAsJsonObject)
+                        .map(row -> row.get("id").getAsInt())
+                        .distinct()
+                        .sorted()
+                        .collect(Collectors.toList());
+            }
+        }
+    }
+}
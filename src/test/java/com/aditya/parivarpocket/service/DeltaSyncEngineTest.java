@@ -0,0 +1,204 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.stream.JsonReader;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link DeltaSyncEngine} against an in-memory table.
+ */
+public class DeltaSyncEngineTest extends TestCase {
+    private static final RowReader<String> NAME = new RowReader<>() {
+        @Override
+        public String readRow(JsonReader in) throws IOException {
+            String name = null;
+            while (in.hasNext()) {
+                if (in.nextName().equals("name")) {
+                    name = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            return name;
+        }
+    };
+
+    private final FakeTable server = new FakeTable();
+    private final DeltaSyncEngine engine = new DeltaSyncEngine(server, Duration.ofMinutes(15));
+
+    public void testFirstSyncLoadsInFullThenFetchesOnlyChanges() {
+        server.upsert("1", "a", "t01", "t01");
+        server.upsert("2", "b", "t02", "t02");
+        assertEquals(Arrays.asList("b", "a"), sync(null));
+        assertEquals(1, server.fullLoads.get());
+
+        server.upsert("3", "c", "t03", "t03");
+        server.upsert("1", "a2", "t01", "t04");
+        assertEquals(Arrays.asList("c", "b", "a2"), sync(null));
+        assertEquals(1, server.fullLoads.get());
+        assertEquals(1, server.deltas.get());
+    }
+
+    public void testDeleteIsCaughtByRowCount() {
+        server.upsert("1", "a", "t01", "t01");
+        server.upsert("2", "b", "t02", "t02");
+        sync(null);
+
+        server.delete("1");
+        assertEquals(List.of("b"), sync(null));
+        assertEquals(2, server.fullLoads.get());
+    }
+
+    public void testDeleteInsideLimitedWindowIsCaught() {
+        server.upsert("1", "a", "t01", "t01");
+        server.upsert("2", "b", "t02", "t02");
+        server.upsert("3", "c", "t03", "t03");
+        assertEquals(Arrays.asList("c", "b"), sync(2));
+
+        // Three rows remain above the limit, so min(count, limit) alone would not notice
+        server.upsert("4", "d", "t00", "t05");
+        server.delete("3");
+        assertEquals(Arrays.asList("b", "a"), sync(2));
+    }
+
+    public void testLimitedWindowWithoutChangesStaysOnDeltas() {
+        server.upsert("1", "a", "t01", "t01");
+        server.upsert("2", "b", "t02", "t02");
+        server.upsert("3", "c", "t03", "t03");
+        sync(2);
+        server.upsert("4", "d", "t04", "t04");
+
+        assertEquals(Arrays.asList("d", "c"), sync(2));
+        assertEquals(Arrays.asList("d", "c"), sync(2));
+        assertEquals(1, server.fullLoads.get());
+    }
+
+    public void testReconcileIntervalForcesFullLoad() {
+        DeltaSyncEngine eager = new DeltaSyncEngine(server, Duration.ZERO);
+        server.upsert("1", "a", "t01", "t01");
+        eager.sync("rows", List.of("name"), "", "created_at", null, NAME, null);
+        eager.sync("rows", List.of("name"), "", "created_at", null, NAME, null);
+        assertEquals(2, server.fullLoads.get());
+        assertEquals(0, server.deltas.get());
+    }
+
+    public void testResetForgetsWatermarks() {
+        server.upsert("1", "a", "t01", "t01");
+        sync(null);
+        engine.reset();
+        sync(null);
+        assertEquals(2, server.fullLoads.get());
+    }
+
+    public void testConcurrentSyncsOfOneScopeShareTheFullLoad() throws InterruptedException {
+        server.upsert("1", "a", "t01", "t01");
+        server.fullLoadGate = new CountDownLatch(1);
+        List<Thread> callers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            callers.add(new Thread(() -> sync(null)));
+        }
+        for (Thread caller : callers) {
+            caller.start();
+        }
+        Thread.sleep(100);
+        server.fullLoadGate.countDown();
+        for (Thread caller : callers) {
+            caller.join();
+        }
+        assertEquals(1, server.fullLoads.get());
+        assertEquals(2, server.deltas.get());
+    }
+
+    private List<String> sync(Integer limit) {
+        return engine.sync("rows", List.of("name"), "", "created_at", limit, NAME, null);
+    }
+
+    /**
+     * One table with {@code id}, {@code name}, {@code created_at} and {@code updated_at}; answers the
+     * full, delta and count queries the engine sends.
+     */
+    private static final class FakeTable extends SupabaseClient {
+        private final Map<String, JsonObject> rows = new ConcurrentHashMap<>();
+        private final AtomicInteger fullLoads = new AtomicInteger();
+        private final AtomicInteger deltas = new AtomicInteger();
+        private volatile CountDownLatch fullLoadGate;
+
+        void upsert(String id, String name, String createdAt, String updatedAt) {
+            JsonObject row = new JsonObject();
+            row.addProperty("id", id);
+            row.addProperty("name", name);
+            row.addProperty("created_at", createdAt);
+            row.addProperty("updated_at", updatedAt);
+            rows.put(id, row);
+        }
+
+        void delete(String id) {
+            rows.remove(id);
+        }
+
+        @Override
+        public JsonArray fetchTable(String table, List<String> columns, String queryParams, String bearerToken) {
+            String watermark = param(queryParams, "updated_at=gte.");
+            List<JsonObject> matched = new ArrayList<>();
+            if (watermark != null) {
+                deltas.incrementAndGet();
+                for (JsonObject row : rows.values()) {
+                    if (row.get("updated_at").getAsString().compareTo(watermark) >= 0) {
+                        matched.add(row);
+                    }
+                }
+                matched.sort(Comparator.comparing(row -> row.get("updated_at").getAsString()));
+            } else {
+                fullLoads.incrementAndGet();
+                CountDownLatch gate = fullLoadGate;
+                if (gate != null) {
+                    try {
+                        gate.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                matched.addAll(rows.values());
+                matched.sort(Comparator.comparing((JsonObject row) -> row.get("created_at").getAsString()).reversed());
+                String limit = param(queryParams, "limit=");
+                if (limit != null && matched.size() > Integer.parseInt(limit)) {
+                    matched = matched.subList(0, Integer.parseInt(limit));
+                }
+            }
+            JsonArray result = new JsonArray();
+            matched.forEach(row -> result.add(row.deepCopy()));
+            return result;
+        }
+
+        @Override
+        public long countRows(String table, String queryParams, String bearerToken, CountMode mode) {
+            String after = param(queryParams, "created_at=gt.");
+            return rows.values().stream()
+                    .filter(row -> after == null || row.get("created_at").getAsString().compareTo(after) > 0)
+                    .count();
+        }
+
+        private static String param(String query, String prefix) {
+            for (String part : query.split("&")) {
+                if (part.startsWith(prefix)) {
+                    return URLDecoder.decode(part.substring(prefix.length()), StandardCharsets.UTF_8);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.aditya.parivarpocket.service;
+
+import com.aditya.parivarpocket.model.JobOpportunity;
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Unit tests for {@link JobSearchIndex}.
+ */
+public class JobSearchIndexTest extends TestCase {
+    private final JobSearchIndex index = new JobSearchIndex();
+
+    @Override
+    protected void setUp() {
+        index.rebuild(List.of(
+                job("driver", "Delivery Driver", "Swift Logistics", "Transport", List.of("Driving", "Navigation"), 3),
+                job("cashier", "Store Cashier", "Daily Mart", "Retail", List.of("Cash handling"), 2),
+                job("tailor", "Tailor", "Stitch Works", "Garments", List.of("Sewing"), 1),
+                job("dispatcher", "Dispatcher", "Swift Logistics", "Transport", List.of("Driving"), 4)));
+    }
+
+    public void testTokenizeSplitsOnNonWordCharacters() {
+        assertEquals(Arrays.asList("part", "time", "cook", "24x7"), JobSearchIndex.tokenize("Part-time COOK, 24x7!"));
+        assertTrue(JobSearchIndex.tokenize("  -- ").isEmpty());
+        assertTrue(JobSearchIndex.tokenize(null).isEmpty());
+    }
+
+    public void testBlankQueryMatchesNothing() {
+        assertTrue(index.search("").isEmpty());
+        assertTrue(index.search("  ,").isEmpty());
+    }
+
+    public void testSearchIsCaseInsensitiveAcrossFields() {
+        assertEquals(List.of("cashier"), ids("CASHIER"));
+        assertEquals(List.of("tailor"), ids("sewing"));
+        assertEquals(List.of("cashier"), ids("retail"));
+    }
+
+    public void testEveryQueryWordMustMatch() {
+        assertEquals(List.of("driver"), ids("swift delivery"));
+        assertTrue(ids("swift sewing").isEmpty());
+    }
+
+    public void testTitleHitOutranksSkillHit() {
+        // "driver" is in one title; "driving" is a skill of both transport jobs
+        assertEquals(Arrays.asList("driver", "dispatcher"), ids("driv"));
+    }
+
+    public void testEqualScoresRankNewestFirst() {
+        assertEquals(Arrays.asList("dispatcher", "driver"), ids("swift"));
+    }
+
+    public void testExactWordBeatsPrefixMatch() {
+        index.addAll(List.of(job("market", "Market Helper", "Corner Shop", "Retail", List.of(), 0),
+                job("marketing", "Marketing Helper", "Corner Shop", "Retail", List.of(), 9)));
+        // The newer listing only matches "market" as a prefix, so it ranks second
+        assertEquals(Arrays.asList("market", "marketing"), ids("market helper"));
+    }
+
+    public void testAddAllReplacesListingWithSameId() {
+        index.addAll(List.of(job("tailor", "Embroidery Artisan", "Stitch Works", "Garments", List.of(), 1)));
+        assertEquals(4, index.size());
+        assertTrue(ids("tailor").isEmpty());
+        assertEquals(List.of("tailor"), ids("embroidery"));
+    }
+
+    public void testRebuildDropsOldListings() {
+        index.rebuild(List.of(job("cook", "Cook", "Home Foods", "Food", List.of(), 1)));
+        assertEquals(1, index.size());
+        assertTrue(ids("driver").isEmpty());
+        assertEquals(List.of("cook"), ids("cook"));
+    }
+
+    private List<String> ids(String query) {
+        return index.search(query).stream().map(JobOpportunity::getId).collect(Collectors.toList());
+    }
+
+    private static JobOpportunity job(String id, String title, String company, String category,
+                                      List<String> skills, long published) {
+        return new JobOpportunity(id, title, company, "Pune", null, null, published, null,
+                null, null, null, category, skills, null, null, null);
+    }
+}
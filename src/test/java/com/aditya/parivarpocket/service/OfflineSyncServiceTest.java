@@ -0,0 +1,249 @@
+package com.aditya.parivarpocket.service;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import junit.framework.TestCase;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Unit tests for the {@link OfflineSyncService} journal: replay order, rejected writes and
+ * compaction. The server is a {@link SupabaseClient} that records calls instead of sending them.
+ */
+public class OfflineSyncServiceTest extends TestCase {
+    private Path directory;
+    private Path journalFile;
+    private final List<OfflineSyncService> services = new ArrayList<>();
+
+    @Override
+    protected void setUp() throws IOException {
+        directory = Files.createTempDirectory("offline-journal");
+        journalFile = directory.resolve("offline-journal.jsonl");
+    }
+
+    @Override
+    protected void tearDown() throws IOException {
+        for (OfflineSyncService service : services) {
+            service.close();
+        }
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    public void testReplaysInJournalOrderAcrossTables() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        journal.bind(server, () -> "token");
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        journal.queueOperation(insert("lesson_completions", "completion"));
+        journal.queueOperation(OfflineSyncService.Operation.update("quiz_attempts", "id=eq.1", row("attempt-2"), true, "update"));
+        journal.queueOperation(OfflineSyncService.Operation.delete("lesson_completions", "id=eq.1", true, "delete"));
+
+        assertEquals(4, journal.syncNow());
+        assertEquals(Arrays.asList(
+                "INSERT quiz_attempts 1", "INSERT lesson_completions 1", "UPDATE quiz_attempts", "DELETE lesson_completions"),
+                server.calls);
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    public void testConsecutiveInsertsShareOneRequest() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        journal.bind(server, () -> null);
+        journal.queueOperation(insert("quiz_attempts", "a"));
+        journal.queueOperation(insert("quiz_attempts", "b"));
+        journal.queueOperation(insert("quiz_attempts", "c"));
+        journal.queueOperation(insert("lesson_completions", "d"));
+
+        journal.syncNow();
+
+        assertEquals(Arrays.asList("INSERT quiz_attempts 3", "INSERT lesson_completions 1"), server.calls);
+    }
+
+    public void testEveryWriteQueuesWhileAnythingIsPending() {
+        OfflineSyncService journal = open();
+        assertFalse(journal.shouldQueue());
+
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        // Writes to any table wait behind the pending one, not only writes to quiz_attempts
+        assertTrue(journal.shouldQueue());
+
+        // Binding starts a replay pass; wait for it
+        journal.bind(new RecordingClient(), () -> null);
+        journal.syncNowAsync().join();
+        assertFalse(journal.shouldQueue());
+
+        journal.setOfflineMode(true);
+        assertTrue(journal.shouldQueue());
+    }
+
+    public void testTransientRejectionStopsReplay() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        server.rejectTable = "quiz_attempts";
+        server.rejectStatus = 401;
+        journal.bind(server, () -> null);
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        journal.queueOperation(insert("lesson_completions", "completion"));
+
+        assertEquals(0, journal.syncNow());
+        // The dependent completion must not overtake the refused attempt
+        assertEquals(List.of("INSERT quiz_attempts 1"), server.calls);
+        assertEquals(Arrays.asList("attempt", "completion"), journal.getPendingOperations());
+
+        server.rejectTable = null;
+        assertEquals(2, journal.syncNow());
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    public void testRepeatedTransientRejectionEventuallyDrops() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        server.rejectTable = "quiz_attempts";
+        server.rejectStatus = 429;
+        journal.bind(server, () -> null);
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        journal.queueOperation(insert("lesson_completions", "completion"));
+
+        for (int pass = 1; pass < 5; pass++) {
+            assertEquals(0, journal.syncNow());
+            assertEquals(2, journal.getPendingCount());
+        }
+        assertEquals(1, journal.syncNow());
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    public void testPermanentRejectionIsDroppedAtOnce() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        server.rejectTable = "quiz_attempts";
+        server.rejectStatus = 400;
+        journal.bind(server, () -> null);
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        journal.queueOperation(insert("lesson_completions", "completion"));
+
+        assertEquals(1, journal.syncNow());
+        assertEquals(Arrays.asList("INSERT quiz_attempts 1", "INSERT lesson_completions 1"), server.calls);
+        assertEquals(0, journal.getPendingCount());
+    }
+
+    public void testConnectivityFailureKeepsEverythingAndGoesOffline() {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        server.offline = true;
+        journal.bind(server, () -> null);
+        journal.queueOperation(OfflineSyncService.Operation.delete("quiz_attempts", "id=eq.1", false, "delete"));
+
+        assertEquals(0, journal.syncNow());
+        assertTrue(journal.isOfflineMode());
+        assertEquals(1, journal.getPendingCount());
+    }
+
+    public void testPendingOperationsSurviveRestart() {
+        OfflineSyncService first = open();
+        first.queueOperation(insert("quiz_attempts", "attempt"));
+        first.queueOperation(insert("lesson_completions", "completion"));
+        first.close();
+
+        OfflineSyncService reopened = open();
+        assertEquals(Arrays.asList("attempt", "completion"), reopened.getPendingOperations());
+    }
+
+    public void testCompactionKeepsOnlyPendingEntries() throws IOException {
+        OfflineSyncService journal = open();
+        RecordingClient server = new RecordingClient();
+        server.rejectTable = "profiles";
+        server.rejectStatus = 503;
+        journal.bind(server, () -> null);
+        journal.queueOperation(insert("quiz_attempts", "attempt"));
+        journal.queueOperation(OfflineSyncService.Operation.update("profiles", "id=eq.1", row("profile"), true, "profile"));
+        journal.queueOperation(insert("lesson_completions", "completion"));
+
+        assertEquals(1, journal.syncNow());
+        journal.close();
+
+        // The acknowledged attempt and its ack line are gone; the two blocked entries remain
+        List<String> lines = Files.readAllLines(journalFile, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertTrue(lines.get(0).contains("\"profile\""));
+        assertTrue(lines.get(1).contains("\"completion\""));
+        assertFalse(Files.exists(journalFile.resolveSibling("offline-journal.jsonl.tmp")));
+
+        assertEquals(Arrays.asList("profile", "completion"), open().getPendingOperations());
+    }
+
+    public void testTornFinalLineIsSkipped() throws IOException {
+        OfflineSyncService first = open();
+        first.queueOperation(insert("quiz_attempts", "attempt"));
+        first.close();
+        Files.writeString(journalFile, "{\"op\":{\"idem", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        assertEquals(List.of("attempt"), open().getPendingOperations());
+    }
+
+    private OfflineSyncService open() {
+        OfflineSyncService service = new OfflineSyncService(journalFile);
+        services.add(service);
+        return service;
+    }
+
+    private static OfflineSyncService.Operation insert(String table, String description) {
+        return OfflineSyncService.Operation.insert(table, null, row(description), true, description);
+    }
+
+    private static JsonObject row(String name) {
+        JsonObject row = new JsonObject();
+        row.addProperty("name", name);
+        return row;
+    }
+
+    /**
+     * Records each write as "METHOD table [rows]" and fails the ones configured to fail.
+     */
+    private static final class RecordingClient extends SupabaseClient {
+        private final List<String> calls = new ArrayList<>();
+        private volatile String rejectTable;
+        private volatile int rejectStatus;
+        private volatile boolean offline;
+
+        @Override
+        public JsonArray insertRecord(String table, String queryParams, JsonElement payload, String bearerToken) {
+            record("INSERT " + table + " " + payload.getAsJsonArray().size(), table);
+            return new JsonArray();
+        }
+
+        @Override
+        public JsonArray updateRecord(String table, String queryParams, JsonElement payload, String bearerToken) {
+            record("UPDATE " + table, table);
+            return new JsonArray();
+        }
+
+        @Override
+        public void deleteRecord(String table, String queryParams, String bearerToken) {
+            record("DELETE " + table, table);
+        }
+
+        private synchronized void record(String call, String table) {
+            if (offline) {
+                throw new IllegalStateException("Supabase unreachable", new IOException("connection refused"));
+            }
+            calls.add(call);
+            if (table.equals(rejectTable)) {
+                throw new SupabaseHttpException("Supabase write failed (" + table + ")", rejectStatus, "");
+            }
+        }
+    }
+}
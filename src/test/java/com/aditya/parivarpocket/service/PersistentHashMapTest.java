@@ -0,0 +1,160 @@
+package com.aditya.parivarpocket.service;
+
+import junit.framework.TestCase;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Unit tests for {@link PersistentHashMap}.
+ */
+public class PersistentHashMapTest extends TestCase {
+
+    public void testPutAndGet() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 1000; i++) {
+            map = map.put("key-" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.valueOf(i), map.get("key-" + i));
+        }
+        assertNull(map.get("missing"));
+        assertFalse(map.containsKey("missing"));
+    }
+
+    public void testReplaceKeepsSizeAndLeavesOldVersionIntact() {
+        PersistentHashMap<String, Integer> before = PersistentHashMap.<String, Integer>empty().put("a", 1).put("b", 2);
+        PersistentHashMap<String, Integer> after = before.put("a", 10);
+
+        assertEquals(2, after.size());
+        assertEquals(Integer.valueOf(10), after.get("a"));
+        assertEquals(Integer.valueOf(1), before.get("a"));
+    }
+
+    public void testPutSameValueReturnsSameMap() {
+        Integer value = 1;
+        PersistentHashMap<String, Integer> map = PersistentHashMap.<String, Integer>empty().put("a", value);
+        assertSame(map, map.put("a", value));
+    }
+
+    public void testRemove() {
+        PersistentHashMap<String, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 100; i++) {
+            map = map.put("key-" + i, i);
+        }
+        PersistentHashMap<String, Integer> removed = map.remove("key-7");
+
+        assertEquals(99, removed.size());
+        assertNull(removed.get("key-7"));
+        assertEquals(Integer.valueOf(7), map.get("key-7"));
+        assertSame(removed, removed.remove("key-7"));
+
+        for (int i = 0; i < 100; i++) {
+            removed = removed.remove("key-" + i);
+        }
+        assertEquals(0, removed.size());
+        assertNull(removed.get("key-1"));
+    }
+
+    public void testFullHashCollisions() {
+        PersistentHashMap<Key, String> map = PersistentHashMap.empty();
+        for (int i = 0; i < 5; i++) {
+            map = map.put(new Key(i, 42), "v" + i);
+        }
+        assertEquals(5, map.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals("v" + i, map.get(new Key(i, 42)));
+        }
+        assertNull(map.get(new Key(99, 42)));
+
+        map = map.put(new Key(2, 42), "replaced");
+        assertEquals(5, map.size());
+        assertEquals("replaced", map.get(new Key(2, 42)));
+
+        for (int i = 0; i < 4; i++) {
+            map = map.remove(new Key(i, 42));
+        }
+        assertEquals(1, map.size());
+        assertEquals("v4", map.get(new Key(4, 42)));
+        assertEquals(0, map.remove(new Key(4, 42)).size());
+    }
+
+    public void testCollisionNodePushedDownBySharedPrefix() {
+        // Spread hashes 0x00000000 and 0x80000000: equal in every level but the last
+        Key low = new Key(1, 0);
+        Key high = new Key(2, 0x80008000);
+        Key lowTwin = new Key(3, 0);
+
+        PersistentHashMap<Key, String> map = PersistentHashMap.<Key, String>empty()
+                .put(low, "low").put(lowTwin, "twin").put(high, "high");
+        assertEquals(3, map.size());
+        assertEquals("low", map.get(low));
+        assertEquals("twin", map.get(lowTwin));
+        assertEquals("high", map.get(high));
+
+        map = map.remove(low);
+        assertEquals(2, map.size());
+        assertNull(map.get(low));
+        assertEquals("twin", map.get(lowTwin));
+        assertEquals("high", map.get(high));
+    }
+
+    public void testForEachVisitsEveryEntry() {
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        for (int i = 0; i < 300; i++) {
+            map = map.put(new Key(i, i % 7), i);
+        }
+        Map<Key, Integer> seen = new HashMap<>();
+        map.forEach(seen::put);
+        assertEquals(300, seen.size());
+        assertEquals(Integer.valueOf(123), seen.get(new Key(123, 123 % 7)));
+    }
+
+    public void testMatchesHashMapUnderRandomOperations() {
+        Random random = new Random(7);
+        PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+        Map<Key, Integer> expected = new HashMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            int id = random.nextInt(400);
+            // Few distinct hashes, so collisions and deep splits happen constantly
+            Key key = new Key(id, random.nextBoolean() ? id % 13 : id * 0x01000193);
+            if (random.nextInt(3) == 0) {
+                map = map.remove(key);
+                expected.remove(key);
+            } else {
+                map = map.put(key, step);
+                expected.put(key, step);
+            }
+            assertEquals(expected.size(), map.size());
+            assertEquals(expected.get(key), map.get(key));
+        }
+        Map<Key, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    /**
+     * Key with a chosen hash code, for forcing collisions.
+     */
+    private static final class Key {
+        private final int id;
+        private final int hash;
+
+        private Key(int id, int hash) {
+            this.id = id;
+            this.hash = hash;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof Key && ((Key) other).id == id && ((Key) other).hash == hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
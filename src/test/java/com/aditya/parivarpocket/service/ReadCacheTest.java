@@ -0,0 +1,127 @@
+package com.aditya.parivarpocket.service;
+
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link ReadCache}. Background refreshes run inline so results are deterministic.
+ */
+public class ReadCacheTest extends TestCase {
+    private static final Duration HOUR = Duration.ofHours(1);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    public void testFreshEntryIsServedFromMemory() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals(1, loads.get());
+        assertEquals(Long.valueOf(1), cache.getStats().get("hits"));
+        assertEquals(Long.valueOf(1), cache.getStats().get("misses"));
+    }
+
+    public void testExpiredEntryIsReloaded() {
+        ReadCache<String, String> cache = cache(Duration.ZERO, Duration.ZERO, 100);
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals("a-2", cache.get("a", () -> load("a")));
+        assertEquals(Long.valueOf(2), cache.getStats().get("misses"));
+    }
+
+    public void testStaleEntryIsServedWhileRefreshing() {
+        ReadCache<String, String> cache = cache(Duration.ZERO, HOUR, 100);
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        // Served stale; the refresh stores a-2 for the next read
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals("a-2", cache.get("a", () -> load("a")));
+        assertEquals(Long.valueOf(2), cache.getStats().get("stale_hits"));
+        assertEquals(Long.valueOf(2), cache.getStats().get("refreshes"));
+    }
+
+    public void testFailedRefreshKeepsStaleValue() {
+        ReadCache<String, String> cache = cache(Duration.ZERO, HOUR, 100);
+        cache.get("a", () -> load("a"));
+        assertEquals("a-1", cache.get("a", () -> {
+            throw new IllegalStateException("offline");
+        }));
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals(Long.valueOf(1), cache.getStats().get("refresh_failures"));
+    }
+
+    public void testFailedAndNullLoadsAreNotCached() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        try {
+            cache.get("a", () -> {
+                throw new IllegalStateException("offline");
+            });
+            fail("loader failure must propagate");
+        } catch (IllegalStateException expected) {
+            // not cached
+        }
+        assertNull(cache.get("a", () -> null));
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+    }
+
+    public void testInvalidatingKeyDiscardsItsRunningLoad() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        // A write to "a" lands while the read of "a" is in flight
+        assertEquals("a-1", cache.get("a", () -> {
+            cache.invalidate("a");
+            return load("a");
+        }));
+        assertEquals("a-2", cache.get("a", () -> load("a")));
+    }
+
+    public void testInvalidatingOtherKeyKeepsRunningLoad() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        cache.get("a", () -> {
+            cache.invalidate("b");
+            return load("a");
+        });
+        assertEquals("a-1", cache.get("a", () -> load("a")));
+        assertEquals(1, loads.get());
+    }
+
+    public void testInvalidateAllDiscardsEveryRunningLoad() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        cache.get("b", () -> load("b"));
+        cache.get("a", () -> {
+            cache.invalidateAll();
+            return load("a");
+        });
+        assertEquals("a-3", cache.get("a", () -> load("a")));
+        assertEquals("b-4", cache.get("b", () -> load("b")));
+    }
+
+    public void testPutWinsOverRacingLoad() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 100);
+        assertEquals("a-1", cache.get("a", () -> {
+            cache.put("a", "written");
+            return load("a");
+        }));
+        assertEquals("written", cache.get("a", () -> load("a")));
+    }
+
+    public void testLeastRecentlyUsedIsEvictedByWeight() {
+        ReadCache<String, String> cache = cache(HOUR, Duration.ZERO, 3);
+        cache.put("a", "a");
+        cache.put("b", "b");
+        cache.put("c", "c");
+        cache.get("a", () -> load("a"));
+        cache.put("d", "d");
+
+        assertEquals("a", cache.get("a", () -> load("a")));
+        assertEquals("b-1", cache.get("b", () -> load("b")));
+        assertEquals(Long.valueOf(3), cache.getStats().get("weight"));
+        assertTrue(cache.getStats().get("evictions") >= 1);
+    }
+
+    private ReadCache<String, String> cache(Duration ttl, Duration staleWindow, long maxWeight) {
+        return new ReadCache<>("test", ttl, staleWindow, maxWeight, value -> 1, Runnable::run);
+    }
+
+    private String load(String key) {
+        return key + "-" + loads.incrementAndGet();
+    }
+}
@@ -0,0 +1,137 @@
+package com.aditya.parivarpocket.service;
+
+import junit.framework.TestCase;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+public class SingleFlightTest extends TestCase {
+    private final AtomicInteger calls = new AtomicInteger();
+
+    public void testConcurrentCallersShareOneCall() throws Exception {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() ->
+                flights.execute("rows", () -> blockingCall(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        List<CompletableFuture<Integer>> followers = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            followers.add(CompletableFuture.supplyAsync(() -> flights.execute("rows", this::call)));
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertEquals(Integer.valueOf(1), leader.get(5, TimeUnit.SECONDS));
+        for (CompletableFuture<Integer> follower : followers) {
+            assertEquals(Integer.valueOf(1), follower.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, calls.get());
+    }
+
+    public void testZeroFreshnessDoesNotReuseFinishedResults() {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ZERO);
+        assertEquals(Integer.valueOf(1), flights.execute("rows", this::call));
+        assertEquals(Integer.valueOf(2), flights.execute("rows", this::call));
+    }
+
+    public void testFreshResultIsReused() {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ofHours(1));
+        assertEquals(Integer.valueOf(1), flights.execute("rows", this::call));
+        assertEquals(Integer.valueOf(1), flights.execute("rows", this::call));
+        assertEquals(Integer.valueOf(2), flights.execute("other", this::call));
+    }
+
+    public void testFailuresAreNotCached() {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ofHours(1));
+        try {
+            flights.execute("rows", () -> {
+                throw new IllegalStateException("HTTP 503");
+            });
+            fail("failure must propagate");
+        } catch (IllegalStateException expected) {
+            assertEquals("HTTP 503", expected.getMessage());
+        }
+        assertEquals(Integer.valueOf(1), flights.execute("rows", this::call));
+    }
+
+    public void testWaitersSeeTheLeadersFailure() throws Exception {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ZERO);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> leader = CompletableFuture.supplyAsync(() -> flights.execute("rows", () -> {
+            blockingCall(started, release);
+            throw new IllegalStateException("HTTP 500");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Integer> follower = CompletableFuture.supplyAsync(() -> flights.execute("rows", this::call));
+        Thread.sleep(100);
+        release.countDown();
+
+        for (CompletableFuture<Integer> caller : List.of(leader, follower)) {
+            try {
+                caller.get(5, TimeUnit.SECONDS);
+                fail("failure must reach every caller");
+            } catch (ExecutionException expected) {
+                assertEquals("HTTP 500", expected.getCause().getMessage());
+            }
+        }
+        assertEquals(1, calls.get());
+    }
+
+    public void testInvalidateDropsMatchingEntriesOnly() {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ofHours(1));
+        flights.execute("alerts|a", this::call);
+        flights.execute("alerts|b", this::call);
+        flights.execute("wallet|a", this::call);
+
+        flights.invalidate("alerts|");
+
+        assertEquals(Integer.valueOf(4), flights.execute("alerts|a", this::call));
+        assertEquals(Integer.valueOf(5), flights.execute("alerts|b", this::call));
+        assertEquals(Integer.valueOf(3), flights.execute("wallet|a", this::call));
+    }
+
+    public void testInvalidateDetachesCallInFlight() throws Exception {
+        SingleFlight<Integer> flights = new SingleFlight<>(Duration.ofHours(1));
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> before = CompletableFuture.supplyAsync(() ->
+                flights.execute("alerts|a", () -> blockingCall(started, release)));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // A write lands mid-read: later readers must not join the read that started before it
+        flights.invalidate("alerts|");
+        assertEquals(Integer.valueOf(2), flights.execute("alerts|a", this::call));
+
+        release.countDown();
+        assertEquals(Integer.valueOf(1), before.get(5, TimeUnit.SECONDS));
+        // The old read finishing does not replace the newer cached result
+        assertEquals(Integer.valueOf(2), flights.execute("alerts|a", this::call));
+    }
+
+    private Integer call() {
+        return calls.incrementAndGet();
+    }
+
+    private Integer blockingCall(CountDownLatch started, CountDownLatch release) {
+        int value = calls.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
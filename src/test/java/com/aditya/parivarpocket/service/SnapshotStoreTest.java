@@ -0,0 +1,96 @@
+package com.aditya.parivarpocket.service;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Unit tests for {@link SnapshotStore}.
+ */
+public class SnapshotStoreTest extends TestCase {
+
+    public void testStartsUnloaded() {
+        SnapshotStore<String, String> store = new SnapshotStore<>(Function.identity());
+        assertFalse(store.isLoaded());
+        assertTrue(store.values().isEmpty());
+
+        store.load(List.of());
+        assertTrue(store.isLoaded());
+        assertEquals(0, store.size());
+
+        store.clear();
+        assertFalse(store.isLoaded());
+    }
+
+    public void testValuesKeepInsertionOrder() {
+        SnapshotStore<String, String> store = new SnapshotStore<>(value -> value.substring(0, 1));
+        store.load(List.of("c1", "a1", "b1"));
+        store.put("d1");
+        store.put("a2");
+        store.remove("c");
+        store.put("c2");
+
+        // A replaced value keeps its slot; a removed and re-added one moves to the end
+        assertEquals(Arrays.asList("a2", "b1", "d1", "c2"), store.values());
+        assertEquals(Arrays.asList("a", "b", "d", "c"), new ArrayList<>(store.keys()));
+        assertEquals("a2", store.get("a"));
+    }
+
+    public void testNullKeysAreSkipped() {
+        SnapshotStore<String, String> store = new SnapshotStore<>(value -> value.isEmpty() ? null : value);
+        store.putAll(Arrays.asList("x", "", null, "y"));
+        assertEquals(2, store.size());
+        assertEquals(Arrays.asList("x", "y"), store.values());
+        assertFalse(store.contains(null));
+        assertNull(store.get(null));
+    }
+
+    public void testKeysArePinnedToOneSnapshot() {
+        SnapshotStore<String, String> store = new SnapshotStore<>(Function.identity());
+        store.load(List.of("a", "b"));
+        Set<String> keys = store.keys();
+
+        store.put("c");
+        store.remove("a");
+
+        assertEquals(2, keys.size());
+        assertTrue(keys.contains("a"));
+        assertFalse(keys.contains("c"));
+        assertTrue(store.keys().contains("c"));
+        try {
+            keys.add("z");
+            fail("keys() must be read-only");
+        } catch (UnsupportedOperationException expected) {
+            // read-only view
+        }
+    }
+
+    public void testConcurrentWritersLoseNothing() throws InterruptedException {
+        SnapshotStore<Integer, Integer> store = new SnapshotStore<>(Function.identity());
+        store.load(List.of());
+        List<Thread> writers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            int offset = t * 1000;
+            writers.add(new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    store.put(offset + i);
+                }
+            }));
+        }
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        assertEquals(4000, store.size());
+        assertEquals(4000, store.values().size());
+        for (int i = 0; i < 4000; i++) {
+            assertTrue(store.contains(i));
+        }
+    }
+}
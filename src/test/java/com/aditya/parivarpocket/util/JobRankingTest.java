@@ -0,0 +1,98 @@
+package com.aditya.parivarpocket.util;
+
+import com.aditya.parivarpocket.model.JobOpportunity;
+import junit.framework.TestCase;
+
+import java.text.Collator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static com.aditya.parivarpocket.util.JobRanking.Key.NEWEST_FIRST;
+import static com.aditya.parivarpocket.util.JobRanking.Key.SALARY_DESCENDING;
+import static com.aditya.parivarpocket.util.JobRanking.Key.TITLE_ASCENDING;
+
+/**
+ * Unit tests for {@link JobRanking}, checked against a plain stable {@link Comparator} sort.
+ */
+public class JobRankingTest extends TestCase {
+    private static final Double[] SALARIES = {null, 0.0, 12000.0, 15000.0, 15000.0, 30000.0};
+    private static final String[] TITLES = {"Driver", "driver", "Cashier", "Électricien", "Tailor", null};
+
+    public void testEmptyAndNullInput() {
+        assertTrue(JobRanking.sort(null, SALARY_DESCENDING).isEmpty());
+        assertTrue(JobRanking.sort(List.of(), SALARY_DESCENDING).isEmpty());
+    }
+
+    public void testNoKeysKeepsInputOrder() {
+        List<JobOpportunity> jobs = randomJobs(50, 1);
+        assertEquals(jobs, JobRanking.sort(jobs));
+    }
+
+    public void testInputIsNotModified() {
+        List<JobOpportunity> jobs = randomJobs(50, 2);
+        List<JobOpportunity> copy = new ArrayList<>(jobs);
+        JobRanking.sort(jobs, SALARY_DESCENDING);
+        assertEquals(copy, jobs);
+    }
+
+    public void testNullSalaryRanksAsZeroAndTiesKeepInputOrder() {
+        JobOpportunity unpaid = job("a", null, 5, "Helper");
+        JobOpportunity zero = job("b", 0.0, 5, "Helper");
+        JobOpportunity paid = job("c", 100.0, 5, "Helper");
+        JobOpportunity alsoUnpaid = job("d", null, 5, "Helper");
+
+        assertEquals(Arrays.asList(paid, unpaid, zero, alsoUnpaid),
+                JobRanking.sort(Arrays.asList(unpaid, zero, paid, alsoUnpaid), SALARY_DESCENDING));
+    }
+
+    public void testMatchesComparatorSortBySalaryThenNewest() {
+        Comparator<JobOpportunity> expected = Comparator
+                .comparingDouble((JobOpportunity job) -> job.getSalaryMax() != null ? job.getSalaryMax() : 0)
+                .reversed()
+                .thenComparing(Comparator.comparingLong(JobOpportunity::getPubDateTsMilli).reversed());
+        for (int seed = 0; seed < 20; seed++) {
+            List<JobOpportunity> jobs = randomJobs(200, seed);
+            assertEquals(stableSort(jobs, expected), JobRanking.sort(jobs, SALARY_DESCENDING, NEWEST_FIRST));
+        }
+    }
+
+    public void testMatchesComparatorSortByNewestThenTitle() {
+        Collator collator = Collator.getInstance(Locale.getDefault());
+        collator.setStrength(Collator.SECONDARY);
+        Comparator<JobOpportunity> expected = Comparator
+                .comparingLong(JobOpportunity::getPubDateTsMilli).reversed()
+                .thenComparing(job -> job.getTitle() != null ? job.getTitle() : "", collator);
+        for (int seed = 0; seed < 20; seed++) {
+            List<JobOpportunity> jobs = randomJobs(200, seed);
+            assertEquals(stableSort(jobs, expected), JobRanking.sort(jobs, NEWEST_FIRST, TITLE_ASCENDING));
+        }
+    }
+
+    private static List<JobOpportunity> stableSort(List<JobOpportunity> jobs, Comparator<JobOpportunity> order) {
+        List<JobOpportunity> sorted = new ArrayList<>(jobs);
+        sorted.sort(order);
+        return sorted;
+    }
+
+    /**
+     * Listings drawn from a few salaries, dates and titles, so ties on every key are common.
+     */
+    private static List<JobOpportunity> randomJobs(int count, long seed) {
+        Random random = new Random(seed);
+        List<JobOpportunity> jobs = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            jobs.add(job("job-" + i, SALARIES[random.nextInt(SALARIES.length)], random.nextInt(4),
+                    TITLES[random.nextInt(TITLES.length)]));
+        }
+        return jobs;
+    }
+
+    private static JobOpportunity job(String id, Double salaryMax, long published, String title) {
+        return new JobOpportunity(id, title, "Company", "Pune", null, null, published, null,
+                null, salaryMax, null, null, null, null, null, null);
+    }
+}
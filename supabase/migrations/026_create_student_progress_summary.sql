@@ -0,0 +1,76 @@
+-- Server-side aggregation of per-student progress.
+-- Dashboards read one compact row per student instead of downloading every
+-- completion, attempt, wallet entry, favorite and alert to count them client-side.
+create or replace view public.student_progress_summary as
+with students as (
+    select lower(user_email) as user_email from public.student_progress where user_email is not null
+    union select lower(user_email) from public.lesson_completions
+    union select lower(user_email) from public.quiz_attempts
+    union select lower(owner_email) from public.wallet_entries
+    union select lower(user_email) from public.student_activity_logs
+    union select lower(user_email) from public.job_favorites
+    union select lower(user_email) from public.alerts
+),
+completions as (
+    select lower(user_email) as user_email, count(*) as modules_completed
+    from public.lesson_completions
+    group by 1
+),
+attempts as (
+    select lower(user_email) as user_email,
+           count(*) as quizzes_taken,
+           avg(score::numeric / greatest(max_score, 1) * 100) as average_score
+    from public.quiz_attempts
+    group by 1
+),
+wallet as (
+    select lower(owner_email) as user_email,
+           sum(amount) filter (where lower(entry_type) = 'savings') as wallet_savings,
+           sum(amount) filter (where lower(entry_type) = 'income' and lower(category) = 'education') as parivaar_points
+    from public.wallet_entries
+    group by 1
+),
+applications as (
+    select lower(user_email) as user_email, count(*) as employment_applications
+    from public.student_activity_logs
+    where activity_type = 'job_application_event'
+    group by 1
+),
+favorites as (
+    select lower(user_email) as user_email, count(*) as job_saves
+    from public.job_favorites
+    group by 1
+),
+student_alerts as (
+    select lower(user_email) as user_email, count(*) as alerts
+    from public.alerts
+    group by 1
+),
+names as (
+    select distinct on (lower(user_email)) lower(user_email) as user_email, student_name
+    from public.student_progress
+    where user_email is not null
+    order by lower(user_email), updated_at desc
+)
+select s.user_email,
+       n.student_name,
+       coalesce(c.modules_completed, 0)::int as modules_completed,
+       coalesce(a.quizzes_taken, 0)::int as quizzes_taken,
+       coalesce(a.average_score, 0)::numeric(5,2) as average_score,
+       trunc(coalesce(w.wallet_savings, 0))::int as wallet_savings,
+       trunc(coalesce(w.parivaar_points, 0))::int as parivaar_points,
+       coalesce(ap.employment_applications, 0)::int as employment_applications,
+       coalesce(f.job_saves, 0)::int as job_saves,
+       coalesce(al.alerts, 0)::int as alerts
+from students s
+left join names n on n.user_email = s.user_email
+left join completions c on c.user_email = s.user_email
+left join attempts a on a.user_email = s.user_email
+left join wallet w on w.user_email = s.user_email
+left join applications ap on ap.user_email = s.user_email
+left join favorites f on f.user_email = s.user_email
+left join student_alerts al on al.user_email = s.user_email;
+
+grant select on public.student_progress_summary to anon, authenticated;
+
+comment on view public.student_progress_summary is 'One aggregated progress row per student email, used by the dashboards';
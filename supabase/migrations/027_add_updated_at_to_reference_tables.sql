@@ -0,0 +1,22 @@
+-- Track edits on reference tables so clients can revalidate cached copies
+-- with a cheap max(updated_at) probe instead of downloading them again
+CREATE OR REPLACE FUNCTION public.touch_updated_at()
+RETURNS trigger AS $$
+BEGIN
+    NEW.updated_at = now();
+    RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DO $$
+DECLARE
+    tbl text;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['lessons', 'quizzes', 'quiz_questions', 'notifications'] LOOP
+        EXECUTE format('ALTER TABLE public.%I ADD COLUMN IF NOT EXISTS updated_at timestamptz NOT NULL DEFAULT now()', tbl);
+        EXECUTE format('CREATE INDEX IF NOT EXISTS idx_%s_updated_at ON public.%I(updated_at DESC)', tbl, tbl);
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON public.%I', tbl || '_touch_updated_at', tbl);
+        EXECUTE format('CREATE TRIGGER %I BEFORE UPDATE ON public.%I FOR EACH ROW EXECUTE FUNCTION public.touch_updated_at()',
+                       tbl || '_touch_updated_at', tbl);
+    END LOOP;
+END $$;
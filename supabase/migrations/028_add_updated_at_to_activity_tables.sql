@@ -0,0 +1,26 @@
+-- Give append-mostly per-user tables an updated_at watermark so clients can
+-- download only rows changed since their last sync (reuses touch_updated_at from 027)
+DO $$
+DECLARE
+    tbl text;
+BEGIN
+    FOREACH tbl IN ARRAY ARRAY['student_activity_logs', 'alerts', 'wallet_entries', 'quiz_attempts'] LOOP
+        IF NOT EXISTS (
+            SELECT 1 FROM information_schema.columns
+            WHERE table_schema = 'public' AND table_name = tbl AND column_name = 'updated_at'
+        ) THEN
+            EXECUTE format('ALTER TABLE public.%I ADD COLUMN updated_at timestamptz', tbl);
+            EXECUTE format('UPDATE public.%I SET updated_at = created_at', tbl);
+            EXECUTE format('ALTER TABLE public.%I ALTER COLUMN updated_at SET DEFAULT now(), ALTER COLUMN updated_at SET NOT NULL', tbl);
+        END IF;
+        EXECUTE format('DROP TRIGGER IF EXISTS %I ON public.%I', tbl || '_touch_updated_at', tbl);
+        EXECUTE format('CREATE TRIGGER %I BEFORE UPDATE ON public.%I FOR EACH ROW EXECUTE FUNCTION public.touch_updated_at()',
+                       tbl || '_touch_updated_at', tbl);
+    END LOOP;
+END $$;
+
+CREATE INDEX IF NOT EXISTS idx_student_activity_logs_user_updated ON public.student_activity_logs(user_email, updated_at);
+CREATE INDEX IF NOT EXISTS idx_alerts_user_updated ON public.alerts(user_email, updated_at);
+CREATE INDEX IF NOT EXISTS idx_alerts_updated ON public.alerts(updated_at);
+CREATE INDEX IF NOT EXISTS idx_wallet_entries_owner_updated ON public.wallet_entries(owner_email, updated_at);
+CREATE INDEX IF NOT EXISTS idx_quiz_attempts_user_updated ON public.quiz_attempts(user_email, updated_at);